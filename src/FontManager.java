@@ -1,6 +1,8 @@
 import java.awt.Font;
 import java.awt.GraphicsEnvironment;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class FontManager {
 
@@ -56,11 +58,16 @@ public final class FontManager {
         return sfPro(Font.PLAIN, size);
     }
 
+    // Fonts are immutable; renderers ask for the star font on every cell, so keep one per size
+    private static final Map<Float, Font> STAR_FONTS = new ConcurrentHashMap<>();
+
     public static Font starFont(float size) {
-        if (STAR_FONT_FAMILY != null) {
-            return new Font(STAR_FONT_FAMILY, Font.PLAIN, (int) size);
-        }
-        // Fallback so stars still render instead of rectangles
-        return new Font("Dialog", Font.PLAIN, (int) size);
+        return STAR_FONTS.computeIfAbsent(size, s -> {
+            if (STAR_FONT_FAMILY != null) {
+                return new Font(STAR_FONT_FAMILY, Font.PLAIN, (int) (float) s);
+            }
+            // Fallback so stars still render instead of rectangles
+            return new Font("Dialog", Font.PLAIN, (int) (float) s);
+        });
     }
 }
@@ -17,6 +17,8 @@ public final class LogEntry {
     // New fields
     private final String songTitle;
     private double totalPrice;
+    private String timestampText, totalText; // formatted once; entries never change
+
 
     static {
         // Load existing log file into memory when the class is first used
@@ -58,7 +60,8 @@ public final class LogEntry {
     }
 
     String getTimestampText() {
-        return FORMATTER.format(timestamp);
+        if (timestampText == null) timestampText = FORMATTER.format(timestamp);
+        return timestampText;
     }
 
     String getMessage() {
@@ -73,6 +76,12 @@ public final class LogEntry {
         return totalPrice;
     }
 
+    // total as shown in log views and exports: two decimals, blank when there is none
+    String getTotalText() {
+        if (totalText == null) totalText = totalPrice == 0.0 ? "" : String.format("%.2f", totalPrice);
+        return totalText;
+    }
+
     // ---------- Persistence helpers ----------
 
     private static void loadFromDisk() {
@@ -111,7 +120,7 @@ public final class LogEntry {
     private static String toCsvLine(LogEntry entry) {
         String time = entry.getTimestampText();
         String song = escapeCsv(entry.getSongTitle());
-        String total = entry.getTotalPrice() == 0.0 ? "" : String.format("%.2f", entry.getTotalPrice());
+        String total = entry.getTotalText();
         String msg = escapeCsv(entry.getMessage());
         // Keep comma-separated with quotes where needed
         return String.format("%s,%s,%s,%s", time, song, total, msg);
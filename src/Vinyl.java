@@ -1,11 +1,12 @@
 import javax.swing.*;
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.AbstractTableModel;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import javax.imageio.ImageIO;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.transform.OutputKeys;
@@ -36,15 +37,32 @@ public final class Vinyl {
         public String coverPath; // file path or null
         public double price = 0.0;
         public int count = 0;
-        public transient ImageIcon coverIcon; // cached scaled icon
         // add a no arg-constructor
         public Song() {}
 
         // create a method that takes in a query string and returns true if this song matches it.
         public boolean matches(String q) {
-            String all = (title + " " + artist + " " + album + " " + genre + " " + id + " " + bpm + " " + formatDuration(lengthSeconds)).toLowerCase();
+            String all = (title + " " + artist + " " + album + " " + genre + " " + id + " " + bpm + " " + durationText()).toLowerCase();
             return all.contains(q);
         }
+        // Display strings for the formatted columns, built once per song instead of on every
+        // repaint. songUpdated drops them; each also remembers its source value, so an in-place
+        // edit that skips songUpdated still can't show a stale string.
+        private record Display(double value, String text) {}
+        private volatile Display duration, priceDisplay;
+
+        public String durationText() {
+            Display d = duration;
+            if (d == null || d.value != lengthSeconds) duration = d = new Display(lengthSeconds, formatDuration(lengthSeconds));
+            return d.text;
+        }
+        public String priceText() {
+            Display d = priceDisplay;
+            if (d == null || d.value != price) priceDisplay = d = new Display(price, String.format("%.2f", price));
+            return d.text;
+        }
+        void clearDisplayText() { duration = null; priceDisplay = null; }
+
         //lengthSeconds to M
         public static String formatDuration(int secs) {
             int m = secs / 60; int s = secs % 60; return String.format("%d:%02d", m, s);
@@ -57,31 +75,18 @@ public final class Vinyl {
             if (s < 0 || s > 59) throw new IllegalArgumentException("Seconds must be 00..59");
             return m * 60 + s;
         }
-        // ensure cover is a valid image file and size
+        // ensure cover is a valid image file and size (blocking; scaled covers are shared via VinylCovers)
         public ImageIcon getScaledCover(int size) {
-            try {
-                if (coverPath == null || coverPath.isEmpty()) return placeholderIcon(size, size);
-                if (coverIcon != null && coverIcon.getIconWidth() == size && coverIcon.getIconHeight() == size) return coverIcon;
-
-                BufferedImage img;
-                // Support both local files and remote URLs
-                if (coverPath.startsWith("http://") || coverPath.startsWith("https://")) {
-                    java.net.URL url = new java.net.URL(coverPath);
-                    img = ImageIO.read(url);
-                } else {
-                    img = ImageIO.read(new File(coverPath));
-                }
-
-                if (img == null) return placeholderIcon(size, size);
-                Image scaled = img.getScaledInstance(size, size, Image.SCALE_SMOOTH);
-                coverIcon = new ImageIcon(scaled);
-                return coverIcon;
-            } catch (Exception e) {
-                return placeholderIcon(size, size);
-            }
+            ImageIcon icon = VinylCovers.load(coverPath, size);
+            return icon != null ? icon : placeholderIcon(size, size);
         }
-        // method to create a new placeholder icon
+        // placeholder icons are painted once per size and shared; callers must not modify them
+        private static final java.util.Map<Long, ImageIcon> PLACEHOLDERS = new java.util.concurrent.ConcurrentHashMap<>();
         public static ImageIcon placeholderIcon(int w, int h) {
+            return PLACEHOLDERS.computeIfAbsent(((long) w << 32) | (h & 0xffffffffL), k -> paintPlaceholder(w, h));
+        }
+        // method to create a new placeholder icon
+        private static ImageIcon paintPlaceholder(int w, int h) {
             BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
             Graphics2D g = img.createGraphics();
             g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -97,12 +102,15 @@ public final class Vinyl {
 
     // ---------- Table model ----------
     public static class SongTableModel extends AbstractTableModel {
-        private final String[] cols = {"ID","Cover","Title","Artist","Album","Genre","BPM","Length","Explicit","Rating","Price","Count","Actions"};
-        private final Class<?>[] types = {
+        static final String[] cols = {"ID","Cover","Title","Artist","Album","Genre","BPM","Length","Explicit","Rating","Price","Count","Actions"};
+        static final Class<?>[] types = {
                 Integer.class, ImageIcon.class, String.class, String.class, String.class, String.class,
                 Integer.class, String.class, Boolean.class, Integer.class, Double.class, Integer.class, Object.class
         };
+        public static final int COVER_COLUMN = 1;
+        public static final int COVER_SIZE = 44;
         private final List<Song> rows = new ArrayList<>();
+        private long version; // bumped on every table event so caches can tell they are stale
 
         // Simple change listeners so GUI can auto-save
         public interface ChangeListener { void modelChanged(); }
@@ -112,6 +120,17 @@ public final class Vinyl {
         // Notify listeners that the model has changed
         private void notifyChanged() { for (ChangeListener l : new ArrayList<>(listeners)) l.modelChanged(); }
 
+        // Row-level listeners for indexes that need to know which song changed
+        public interface SongListener {
+            default void songAdded(Song s) {}
+            default void songRemoved(Song s) {}
+            default void songChanged(Song s) {}
+            default void songsReset(List<Song> all) {}
+        }
+        private final List<SongListener> songListeners = new ArrayList<>();
+        public void addSongListener(SongListener l) { if (l != null && !songListeners.contains(l)) songListeners.add(l); }
+        public void removeSongListener(SongListener l) { songListeners.remove(l); }
+
         // methods tell JTable how many rows and columns they have
         @Override public int getRowCount() { return rows.size(); }
         @Override public int getColumnCount() { return cols.length; }
@@ -121,15 +140,18 @@ public final class Vinyl {
 
         @Override public Object getValueAt(int r, int c) {
             Song s = rows.get(r);
+            return c == COVER_COLUMN ? coverAt(r, s) : valueOf(s, c);
+        }
+        // Cell value for every column but the cover; shared with the paged model
+        static Object valueOf(Song s, int c) {
             switch (c) {
                 case 0: return s.id;
-                case 1: return s.getScaledCover(44);
                 case 2: return s.title;
                 case 3: return s.artist;
                 case 4: return s.album;
                 case 5: return s.genre;
                 case 6: return s.bpm;
-                case 7: return Song.formatDuration(s.lengthSeconds);
+                case 7: return s.durationText();
                 case 8: return s.explicit;
                 case 9: return s.rating;
                 case 10: return s.price;
@@ -138,15 +160,49 @@ public final class Vinyl {
             }
             return null;
         }
+        // Cover for the table: never blocks. Returns the cached icon, or a placeholder while the
+        // cover is fetched in the background; the row is refreshed when the image arrives.
+        private ImageIcon coverAt(int r, Song s) {
+            return coverFor(s, 0, () -> coverArrived(r, s));
+        }
+
+        // Warm the cover of a row that is just outside the viewport; distance ranks it
+        // behind the rows on screen (smaller = sooner).
+        public void prefetchCover(int r, int distance) {
+            if (r < 0 || r >= rows.size()) return;
+            Song s = rows.get(r);
+            coverFor(s, distance, () -> coverArrived(r, s));
+        }
+
+        private void coverArrived(int r, Song s) {
+            int row = r < rows.size() && rows.get(r) == s ? r : rows.indexOf(s);
+            if (row >= 0) fireTableCellUpdated(row, COVER_COLUMN);
+        }
+
+        // Cached cover of s, or the placeholder while it is requested at the given priority;
+        // onLoaded runs on the EDT once the cover is in the cache.
+        static ImageIcon coverFor(Song s, int priority, Runnable onLoaded) {
+            if (s.coverPath == null || s.coverPath.isEmpty()) return VinylCovers.placeholder(COVER_SIZE);
+            ImageIcon icon = VinylCovers.cached(s.coverPath, COVER_SIZE);
+            if (icon != null) return icon;
+            String path = s.coverPath;
+            VinylCovers.loader().request(path, COVER_SIZE, s, loaded -> {
+                if (loaded != null && path.equals(s.coverPath)) onLoaded.run();
+            }, priority);
+            return VinylCovers.placeholder(COVER_SIZE);
+        }
+
         @Override public void setValueAt(Object val, int r, int c) {
             if (c == 9 && val instanceof Integer) {
                 rows.get(r).rating = (Integer) val;
+                fireTableCellUpdated(r, c); // bumps the version, so cached sort keys are rebuilt
                 notifyChanged();
             }
         }
         // method to add a song to the table
         public void addSong(Song s) {
             rows.add(s);
+            for (SongListener l : songListeners) l.songAdded(s);
             int i = rows.size() - 1;
             fireTableRowsInserted(i, i);
             notifyChanged();
@@ -154,7 +210,8 @@ public final class Vinyl {
         // method to remove a song from the table
         public void removeAt(int modelRow) {
             if (modelRow >= 0 && modelRow < rows.size()) {
-                rows.remove(modelRow);
+                Song removed = rows.remove(modelRow);
+                for (SongListener l : songListeners) l.songRemoved(removed);
                 fireTableRowsDeleted(modelRow, modelRow);
                 notifyChanged();
             }
@@ -163,9 +220,21 @@ public final class Vinyl {
         public int indexOf(Song s) { return rows.indexOf(s); }
         public Song getSong(int modelRow) { return rows.get(modelRow); }
         public List<Song> getAll() { return new ArrayList<>(rows); }
+        // read-only live view of the rows (no copy), for scans over the whole catalog
+        public List<Song> rows() { return Collections.unmodifiableList(rows); }
+        public long getVersion() { return version; }
+        // false for events that only repaint (a cover arriving), which leave the data unchanged
+        public static boolean changesData(TableModelEvent e) {
+            return !(e.getType() == TableModelEvent.UPDATE && e.getColumn() == COVER_COLUMN);
+        }
+        @Override public void fireTableChanged(TableModelEvent e) {
+            if (changesData(e)) version++;
+            super.fireTableChanged(e);
+        }
         public void setSongs(List<Song> list) {
             rows.clear();
             rows.addAll(list);
+            for (SongListener l : songListeners) l.songsReset(rows());
             fireTableDataChanged();
             notifyChanged();
         }
@@ -174,6 +243,8 @@ public final class Vinyl {
         // Call this after mutating a song object in-place (e.g., from a dialog)
         public void songUpdated(int row) {
             if (row >= 0 && row < rows.size()) {
+                rows.get(row).clearDisplayText();
+                for (SongListener l : songListeners) l.songChanged(rows.get(row));
                 fireTableRowsUpdated(row, row);
                 notifyChanged();
             }
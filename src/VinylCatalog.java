@@ -0,0 +1,543 @@
+import javax.swing.ImageIcon;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableRowSorter;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+// Sorting and virtualized views for large libraries.
+// Sort keys are computed once per column straight from the songs (never through getValueAt).
+// A backend owns the rows and answers "which ids, in which order" for a filter + sort;
+// the paged table model only keeps the pages of rows currently being looked at.
+public final class VinylCatalog {
+    private VinylCatalog() {}
+
+    // ---------- Sort keys ----------
+    // Per-column keys read from the primitive fields; text columns are ranked by collation
+    // (java.text.CollationKey, the same order TableRowSorter's Collator gives). Cover and
+    // Actions have no order.
+    public static final class SortKeys {
+        private SortKeys() {}
+
+        private static final ThreadLocal<Collator> COLLATOR = ThreadLocal.withInitial(Collator::getInstance);
+
+        public static boolean sortable(int c) { return c != Vinyl.SongTableModel.COVER_COLUMN && c != 12; }
+
+        static boolean isText(int c) { return c >= 2 && c <= 5; }
+
+        static int numericKey(Vinyl.Song s, int c) {
+            return switch (c) {
+                case 0 -> s.id;
+                case 6 -> s.bpm;
+                case 7 -> s.lengthSeconds;
+                case 8 -> s.explicit ? 1 : 0;
+                case 9 -> s.rating;
+                case 10 -> (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, Math.round(s.price * 100)));
+                case 11 -> s.count;
+                default -> 0;
+            };
+        }
+
+        static String text(Vinyl.Song s, int c) {
+            String v = switch (c) {
+                case 2 -> s.title;
+                case 3 -> s.artist;
+                case 4 -> s.album;
+                default -> s.genre;
+            };
+            return v == null ? "" : v;
+        }
+
+        // Key of one row for column c: a CollationKey for text, the number otherwise. Text keys
+        // compare by their collation bytes, so a single inserted or edited row can be keyed
+        // without re-ranking the column.
+        static Object key(Vinyl.Song s, int c) {
+            return isText(c) ? COLLATOR.get().getCollationKey(text(s, c)) : (Object) numericKey(s, c);
+        }
+
+        // Key of every row for column c, built once per column; equal text values share one key
+        static Object[] keys(List<Vinyl.Song> rows, int c) {
+            int n = rows.size();
+            if (!isText(c)) return IntStream.range(0, n).parallel().mapToObj(i -> (Object) numericKey(rows.get(i), c)).toArray();
+            Map<String, CollationKey> distinct = new ConcurrentHashMap<>();
+            return IntStream.range(0, n).parallel()
+                    .mapToObj(i -> distinct.computeIfAbsent(text(rows.get(i), c), v -> COLLATOR.get().getCollationKey(v)))
+                    .toArray();
+        }
+
+        // Stand-in keys while the real ones are built off the EDT: all equal, so the sort
+        // keeps the previous order until they arrive
+        static Object[] placeholder(int n, int c) {
+            Object[] k = new Object[n];
+            Arrays.fill(k, isText(c) ? COLLATOR.get().getCollationKey("") : (Object) 0);
+            return k;
+        }
+
+        // Collation rank of each row's value (rows outside subset get 0; null subset = all).
+        // Distinct values are far fewer than rows, so only those get a CollationKey.
+        static int[] textRanks(List<Vinyl.Song> rows, BitSet subset, int c) {
+            int n = rows.size();
+            IntStream ids = subset == null ? IntStream.range(0, n) : subset.stream();
+            String[] distinct = ids.parallel().mapToObj(i -> text(rows.get(i), c)).distinct().toArray(String[]::new);
+            CollationKey[] keys = Arrays.stream(distinct).parallel()
+                    .map(v -> COLLATOR.get().getCollationKey(v)).toArray(CollationKey[]::new);
+            Arrays.parallelSort(keys);
+            Map<String, Integer> rank = new HashMap<>(keys.length * 2);
+            int r = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (i > 0 && keys[i].compareTo(keys[i - 1]) != 0) r++;
+                rank.put(keys[i].getSourceString(), r);
+            }
+            int[] ranks = new int[n];
+            IntStream fill = subset == null ? IntStream.range(0, n) : subset.stream();
+            fill.parallel().forEach(i -> ranks[i] = rank.get(text(rows.get(i), c)));
+            return ranks;
+        }
+    }
+
+    // ---------- Sorted table ----------
+    // TableRowSorter for the in-memory table that compares precomputed keys instead of
+    // cell values: the model wrapper hands the sorter each row's key for the column, so a
+    // sort never boxes, formats durations or touches covers. Model events reach the sorter
+    // (through JTable) before it compares anything, and the cached keys are patched for just
+    // the rows in the event. A column that has to be keyed from scratch on a large table is
+    // built off the EDT behind placeholder keys and re-sorted once ready.
+    public static final class SongRowSorter extends TableRowSorter<Vinyl.SongTableModel> {
+        static final int ASYNC_THRESHOLD = 50_000;
+        private static final Comparator<Integer> NUMERIC_ORDER = Integer::compare;
+        private static final Comparator<CollationKey> TEXT_ORDER = CollationKey::compareTo;
+
+        private final Vinyl.SongTableModel model;
+        private final Map<Integer, Object[]> keys = new HashMap<>();
+        private final Set<Integer> pending = new HashSet<>(); // columns on placeholder keys
+        private long keysVersion = -1;
+
+        public SongRowSorter(Vinyl.SongTableModel model) {
+            super(model);
+            this.model = model;
+            setModelWrapper(new ModelWrapper<Vinyl.SongTableModel, Integer>() {
+                @Override public Vinyl.SongTableModel getModel() { return model; }
+                @Override public int getColumnCount() { return model.getColumnCount(); }
+                @Override public int getRowCount() { return model.getRowCount(); }
+                @Override public Object getValueAt(int row, int column) { return keysFor(column)[row]; }
+                @Override public Integer getIdentifier(int row) { return row; }
+            });
+            setSortable(Vinyl.SongTableModel.COVER_COLUMN, false);
+            setSortable(12, false);
+        }
+
+        @Override public Comparator<?> getComparator(int column) { return SortKeys.isText(column) ? TEXT_ORDER : NUMERIC_ORDER; }
+
+        @Override protected boolean useToString(int column) { return false; }
+
+        private Object[] keysFor(int column) {
+            if (keysVersion != model.getVersion()) {
+                keys.clear();
+                pending.clear();
+                keysVersion = model.getVersion();
+            }
+            Object[] k = keys.get(column);
+            if (k != null) return k;
+            int n = model.getRowCount();
+            if (n < ASYNC_THRESHOLD || !SwingUtilities.isEventDispatchThread()) {
+                k = SortKeys.keys(model.rows(), column);
+            } else {
+                k = SortKeys.placeholder(n, column);
+                pending.add(column);
+                buildLater(column);
+            }
+            keys.put(column, k);
+            return k;
+        }
+
+        private void buildLater(int column) {
+            long version = model.getVersion();
+            List<Vinyl.Song> snapshot = model.getAll();
+            CompletableFuture.supplyAsync(() -> SortKeys.keys(snapshot, column)).whenComplete((k, err) ->
+                    SwingUtilities.invokeLater(() -> {
+                        if (!pending.remove(column)) return; // dropped meanwhile; a newer build owns it
+                        if (err != null) {
+                            keys.put(column, SortKeys.keys(model.rows(), column));
+                        } else if (model.getVersion() == version) {
+                            keys.put(column, k);
+                        } else {
+                            keys.remove(column); // rows changed under the build: the sort starts another
+                        }
+                        sort();
+                    }));
+        }
+
+        @Override public void rowsInserted(int first, int last) {
+            patch(TableModelEvent.INSERT, first, last);
+            super.rowsInserted(first, last);
+        }
+
+        @Override public void rowsDeleted(int first, int last) {
+            patch(TableModelEvent.DELETE, first, last);
+            super.rowsDeleted(first, last);
+        }
+
+        // the (first, last, column) overload lands here too
+        @Override public void rowsUpdated(int first, int last) {
+            patch(TableModelEvent.UPDATE, first, last);
+            super.rowsUpdated(first, last);
+        }
+
+        // Bring the cached keys in line with one model event. Anything that can't be patched
+        // (a missed event, a size mismatch) leaves the keys stale, and keysFor starts over.
+        private void patch(int type, int first, int last) {
+            long version = model.getVersion();
+            if (keysVersion == version) return; // repaint-only event (a cover arriving)
+            if (keysVersion != version - 1) return;
+            List<Vinyl.Song> rows = model.rows();
+            int n = last - first + 1;
+            int expected = switch (type) {
+                case TableModelEvent.INSERT -> rows.size() - n;
+                case TableModelEvent.DELETE -> rows.size() + n;
+                default -> rows.size();
+            };
+            if (first < 0 || last < first) return;
+            for (Object[] k : keys.values()) if (k.length != expected) return;
+            for (Map.Entry<Integer, Object[]> e : keys.entrySet()) {
+                int c = e.getKey();
+                Object[] old = e.getValue();
+                Object[] k = old;
+                if (type == TableModelEvent.INSERT) {
+                    k = new Object[old.length + n];
+                    System.arraycopy(old, 0, k, 0, first);
+                    System.arraycopy(old, first, k, last + 1, old.length - first);
+                } else if (type == TableModelEvent.DELETE) {
+                    k = new Object[old.length - n];
+                    System.arraycopy(old, 0, k, 0, first);
+                    System.arraycopy(old, last + 1, k, first, old.length - last - 1);
+                }
+                if (type != TableModelEvent.DELETE) {
+                    for (int i = first; i <= last; i++) k[i] = SortKeys.key(rows.get(i), c);
+                }
+                e.setValue(k);
+            }
+            keysVersion = version;
+        }
+    }
+
+    // ---------- Backend ----------
+    // Where rows live. Ids are dense, 0 .. size()-1.
+    public interface Backend {
+        int size();
+
+        // Hydrate one row (null if the id no longer exists)
+        Vinyl.Song get(int id);
+
+        // Ids of the rows matching q, in view order for the sort (column < 0 = id order).
+        // null means every row in id order, so an unfiltered, unsorted view costs nothing.
+        int[] select(VinylSearch.Query q, int sortColumn, boolean ascending);
+
+        // Whether rows may be edited through the view
+        default boolean editable() { return false; }
+
+        // Persist an edit made through the view
+        default void updated(Vinyl.Song s) {}
+
+        // Runs whenever the set or order of rows may have changed
+        default void addChangeListener(Runnable r) {}
+
+        // The rows as they are now, safe to filter and sort on the query thread. Called on the
+        // EDT; a backend whose rows the EDT can change returns a copy.
+        default Backend snapshot() { return this; }
+    }
+
+    // Filter and sort over any backend that can hydrate rows by id. Sorting packs a
+    // 32-bit key and the id into one long, so a multi-million row sort is a primitive
+    // parallel sort rather than a comparator over boxed rows.
+    public abstract static class AbstractBackend implements Backend {
+        @Override public int[] select(VinylSearch.Query q, int sortColumn, boolean ascending) {
+            int n = size();
+            List<Vinyl.Song> rows = new AbstractList<>() {
+                @Override public Vinyl.Song get(int i) { return AbstractBackend.this.get(i); }
+                @Override public int size() { return n; }
+            };
+            BitSet hits = q == null || q.isEmpty() ? null : VinylSearch.ScanEngine.shared().scan(rows, q::test);
+            if (sortColumn < 0 || !SortKeys.sortable(sortColumn)) {
+                return hits == null ? null : hits.stream().toArray();
+            }
+            int count = hits == null ? n : hits.cardinality();
+            long[] packed = new long[count];
+            int[] ranks = SortKeys.isText(sortColumn) ? SortKeys.textRanks(rows, hits, sortColumn) : null;
+            int k = 0;
+            for (int id = hits == null ? 0 : hits.nextSetBit(0); id >= 0 && id < n;
+                 id = hits == null ? id + 1 : hits.nextSetBit(id + 1)) {
+                int key = ranks != null ? ranks[id] : SortKeys.numericKey(rows.get(id), sortColumn);
+                long unsigned = (long) key - Integer.MIN_VALUE;
+                if (!ascending) unsigned = 0xFFFFFFFFL - unsigned; // ties stay in id order
+                packed[k++] = (unsigned << 31) | id;
+            }
+            Arrays.parallelSort(packed);
+            int[] ids = new int[count];
+            for (int i = 0; i < count; i++) ids[i] = (int) (packed[i] & Integer.MAX_VALUE);
+            return ids;
+        }
+    }
+
+    // The songs already held by the table model (songs.xml); edits go back through it
+    public static final class TableBackend extends AbstractBackend {
+        private final Vinyl.SongTableModel model;
+
+        public TableBackend(Vinyl.SongTableModel model) { this.model = model; }
+
+        @Override public int size() { return model.getRowCount(); }
+
+        @Override public Vinyl.Song get(int id) {
+            List<Vinyl.Song> rows = model.rows();
+            return id >= 0 && id < rows.size() ? rows.get(id) : null;
+        }
+
+        @Override public boolean editable() { return true; }
+
+        // the model's list is edited on the EDT; queries run over a copy of it
+        @Override public Backend snapshot() {
+            List<Vinyl.Song> rows = model.getAll();
+            return new AbstractBackend() {
+                @Override public int size() { return rows.size(); }
+                @Override public Vinyl.Song get(int id) { return id >= 0 && id < rows.size() ? rows.get(id) : null; }
+            };
+        }
+
+        @Override public void updated(Vinyl.Song s) {
+            int idx = model.indexOf(s);
+            if (idx >= 0) model.songUpdated(idx);
+        }
+
+        @Override public void addChangeListener(Runnable r) {
+            model.addTableModelListener(e -> {
+                if (Vinyl.SongTableModel.changesData(e)) r.run();
+            });
+        }
+    }
+
+    // Read-only generated catalog of any size, for exercising the virtual view: rows are
+    // derived from their id on demand, so nothing but the hydrated pages is ever in memory.
+    public static final class SyntheticBackend extends AbstractBackend {
+        private static final String[] WORDS = {"Blue", "Night", "Echo", "Velvet", "Gold", "River", "Static",
+                "Paper", "Neon", "Quiet", "Summer", "Glass", "Wild", "Silver", "Broken", "Electric"};
+        private static final String[] GENRES = {"Rock", "Pop", "Jazz", "Hip-Hop", "Electronic", "Soul",
+                "Folk", "Classical", "Metal", "Blues", "Country", "Reggae"};
+        private final int size;
+
+        public SyntheticBackend(int size) { this.size = size; }
+
+        @Override public int size() { return size; }
+
+        @Override public Vinyl.Song get(int id) {
+            if (id < 0 || id >= size) return null;
+            int h = mix(id);
+            Vinyl.Song s = new Vinyl.Song();
+            s.id = id + 1;
+            s.title = words(h, 2) + " " + (h >>> 20 & 63);
+            s.artist = "The " + words(h >>> 8, 1) + " " + WORDS[(h >>> 4) & 15] + "s";
+            s.album = words(h >>> 12, 2);
+            s.genre = GENRES[Math.floorMod(h >>> 16, GENRES.length)];
+            s.bpm = 60 + Math.floorMod(h, 121);
+            s.lengthSeconds = 90 + Math.floorMod(h >>> 3, 360);
+            s.explicit = (h & 1024) != 0;
+            s.rating = Math.floorMod(h >>> 7, 6);
+            s.price = 9.99 + Math.floorMod(h >>> 9, 30);
+            s.count = Math.floorMod(h >>> 5, 12);
+            return s;
+        }
+
+        private static String words(int h, int n) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                if (i > 0) sb.append(' ');
+                sb.append(WORDS[(h >>> (i * 4)) & 15]);
+            }
+            return sb.toString();
+        }
+
+        private static int mix(int x) {
+            x = (x ^ (x >>> 16)) * 0x45d9f3b;
+            x = (x ^ (x >>> 16)) * 0x45d9f3b;
+            return x ^ (x >>> 16);
+        }
+    }
+
+    // ---------- Paged table model ----------
+    // Row count comes from the current selection; row data is hydrated a page at a time and
+    // only the MAX_PAGES most recently used pages are kept. Filter and sort run in the
+    // backend on a worker thread; the table swaps to the new id order when it is ready.
+    public static final class PagedTableModel extends AbstractTableModel {
+        static final int PAGE_SIZE = 256;
+        static final int MAX_PAGES = 64;
+
+        private final Backend backend;
+        private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "catalog-query");
+            t.setDaemon(true);
+            return t;
+        });
+        private final LinkedHashMap<Integer, Vinyl.Song[]> pages = new LinkedHashMap<>(MAX_PAGES, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Integer, Vinyl.Song[]> eldest) {
+                return size() > MAX_PAGES;
+            }
+        };
+        private int[] ids;     // view order; null = all ids in order
+        private int rowCount;
+        private VinylSearch.Query query = new VinylSearch.Query("", false);
+        private int sortColumn = -1;
+        private boolean ascending = true;
+        private long generation; // newest selection request; older results are dropped
+
+        public PagedTableModel(Backend backend) {
+            this.backend = backend;
+            this.rowCount = backend.size();
+            backend.addChangeListener(() -> SwingUtilities.invokeLater(this::refresh));
+        }
+
+        public Backend backend() { return backend; }
+
+        public void setQuery(VinylSearch.Query q) {
+            if (q.equals(query)) return;
+            query = q;
+            refresh();
+        }
+
+        public void setSort(int column, boolean ascending) {
+            this.sortColumn = column;
+            this.ascending = ascending;
+            refresh();
+        }
+
+        public boolean isSortable(int column) { return SortKeys.sortable(column); }
+
+        // Re-run filter + sort in the backend; the rows are swapped in on the EDT
+        public void refresh() {
+            long gen = ++generation;
+            VinylSearch.Query q = query;
+            int col = sortColumn;
+            boolean asc = ascending;
+            Backend rows = backend.snapshot();
+            worker.execute(() -> {
+                int[] selected = rows.select(q, col, asc);
+                int count = selected == null ? rows.size() : selected.length;
+                SwingUtilities.invokeLater(() -> {
+                    if (gen != generation) return;
+                    ids = selected;
+                    rowCount = count;
+                    pages.clear();
+                    fireTableDataChanged();
+                });
+            });
+        }
+
+        // Song shown in a view row (hydrating its page if needed), or null
+        public Vinyl.Song songAt(int row) {
+            if (row < 0 || row >= rowCount) return null;
+            Vinyl.Song[] page = pages.get(row / PAGE_SIZE);
+            if (page == null) {
+                int from = row / PAGE_SIZE * PAGE_SIZE;
+                page = new Vinyl.Song[Math.min(PAGE_SIZE, rowCount - from)];
+                for (int i = 0; i < page.length; i++) page[i] = backend.get(ids == null ? from + i : ids[from + i]);
+                pages.put(row / PAGE_SIZE, page);
+            }
+            return page[row % PAGE_SIZE];
+        }
+
+        public int hydratedPages() { return pages.size(); }
+
+        @Override public int getRowCount() { return rowCount; }
+        @Override public int getColumnCount() { return Vinyl.SongTableModel.cols.length; }
+        @Override public String getColumnName(int c) { return Vinyl.SongTableModel.cols[c]; }
+        @Override public Class<?> getColumnClass(int c) { return Vinyl.SongTableModel.types[c]; }
+        @Override public boolean isCellEditable(int r, int c) { return backend.editable() && (c == 9 || c == 12); }
+
+        @Override public Object getValueAt(int r, int c) {
+            Vinyl.Song s = songAt(r);
+            if (s == null) return null;
+            if (c == Vinyl.SongTableModel.COVER_COLUMN) return coverAt(r, s, 0);
+            return Vinyl.SongTableModel.valueOf(s, c);
+        }
+
+        @Override public void setValueAt(Object val, int r, int c) {
+            Vinyl.Song s = songAt(r);
+            if (s != null && c == 9 && val instanceof Integer) {
+                s.rating = (Integer) val;
+                backend.updated(s);
+            }
+        }
+
+        public void prefetchCover(int r, int distance) {
+            Vinyl.Song s = songAt(r);
+            if (s != null) coverAt(r, s, distance);
+        }
+
+        private ImageIcon coverAt(int r, Vinyl.Song s, int priority) {
+            return Vinyl.SongTableModel.coverFor(s, priority, () -> {
+                // the row may have been evicted or re-sorted meanwhile; only repaint a live match
+                Vinyl.Song[] page = pages.get(r / PAGE_SIZE);
+                if (page != null && r < rowCount && page[r % PAGE_SIZE] == s) {
+                    fireTableCellUpdated(r, Vinyl.SongTableModel.COVER_COLUMN);
+                }
+            });
+        }
+    }
+
+    // ---------- Row sorter ----------
+    // Identity view<->model mapping (the model is already in view order); header clicks are
+    // forwarded to the backend sort, and the sort keys drive the header arrows as usual.
+    public static final class PagedRowSorter extends RowSorter<PagedTableModel> {
+        private final PagedTableModel model;
+        private List<SortKey> keys = List.of();
+
+        public PagedRowSorter(PagedTableModel model) { this.model = model; }
+
+        @Override public PagedTableModel getModel() { return model; }
+
+        @Override public void toggleSortOrder(int column) {
+            if (!model.isSortable(column)) return;
+            boolean ascending = keys.isEmpty() || keys.get(0).getColumn() != column
+                    || keys.get(0).getSortOrder() != SortOrder.ASCENDING;
+            setSortKeys(List.of(new SortKey(column, ascending ? SortOrder.ASCENDING : SortOrder.DESCENDING)));
+        }
+
+        @Override public void setSortKeys(List<? extends SortKey> sortKeys) {
+            keys = sortKeys == null ? List.of() : List.copyOf(sortKeys);
+            SortKey first = keys.isEmpty() ? null : keys.get(0);
+            if (first == null || first.getSortOrder() == SortOrder.UNSORTED) model.setSort(-1, true);
+            else model.setSort(first.getColumn(), first.getSortOrder() == SortOrder.ASCENDING);
+            fireSortOrderChanged();
+        }
+
+        @Override public List<? extends SortKey> getSortKeys() { return keys; }
+
+        @Override public int convertRowIndexToModel(int index) { return index; }
+        @Override public int convertRowIndexToView(int index) { return index; }
+        @Override public int getViewRowCount() { return model.getRowCount(); }
+        @Override public int getModelRowCount() { return model.getRowCount(); }
+
+        // the backend hands back rows already filtered and ordered; nothing to maintain here
+        @Override public void modelStructureChanged() {}
+        @Override public void allRowsChanged() {}
+        @Override public void rowsInserted(int firstRow, int endRow) {}
+        @Override public void rowsDeleted(int firstRow, int endRow) {}
+        @Override public void rowsUpdated(int firstRow, int endRow) {}
+        @Override public void rowsUpdated(int firstRow, int endRow, int column) {}
+    }
+}
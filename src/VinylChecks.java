@@ -0,0 +1,205 @@
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.table.TableRowSorter;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Regression checks for the behaviour that is easiest to break and hardest to see in the UI.
+// Run headless, like the CLI:  java -Djava.awt.headless=true VinylChecks
+// Prints one line per check and exits non-zero if any failed.
+public final class VinylChecks {
+    private VinylChecks() {}
+
+    private static int failed;
+
+    public static void main(String[] args) throws Exception {
+        SwingUtilities.invokeAndWait(VinylChecks::sortAfterEdit);
+        SwingUtilities.invokeAndWait(VinylChecks::sortKeysPatched);
+        SwingUtilities.invokeAndWait(VinylChecks::queryCachePatching);
+        diskCache();
+        retryAfter();
+        System.out.println(failed == 0 ? "all checks passed" : failed + " check(s) failed");
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    private static void check(String name, boolean ok, Object detail) {
+        System.out.println((ok ? "ok    " : "FAIL  ") + name + (ok ? "" : "  (" + detail + ")"));
+        if (!ok) failed++;
+    }
+
+    private static Vinyl.Song song(int id, String title, int rating) {
+        Vinyl.Song s = new Vinyl.Song();
+        s.id = id;
+        s.title = title;
+        s.artist = "Artist " + id;
+        s.rating = rating;
+        return s;
+    }
+
+    // ---------- Sorting ----------
+    // Sort keys are cached per column; a rating edit through the editor must invalidate them
+    private static void sortAfterEdit() {
+        Vinyl.SongTableModel model = new Vinyl.SongTableModel();
+        List<Vinyl.Song> songs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) songs.add(song(i + 1, "Song " + i, 1));
+        model.setSongs(songs);
+        VinylCatalog.SongRowSorter sorter = new VinylCatalog.SongRowSorter(model);
+        sorter.toggleSortOrder(9); // builds and caches the rating keys
+        int[] ratings = {5, 1, 2, 3, 4};
+        for (int r = 0; r < ratings.length; r++) model.setValueAt(ratings[r], r, 9);
+        sorter.toggleSortOrder(9); // descending
+        check("sort after rating edit (descending)", "5 4 3 2 1".equals(ratingsInView(model, sorter)), ratingsInView(model, sorter));
+        sorter.toggleSortOrder(9);
+        check("sort after rating edit (ascending)", "1 2 3 4 5".equals(ratingsInView(model, sorter)), ratingsInView(model, sorter));
+    }
+
+    // Inserts, deletes and edits on a sorted table patch the cached keys row by row; the
+    // result must sort exactly like the stock TableRowSorter over the same rows
+    private static void sortKeysPatched() {
+        Vinyl.SongTableModel model = new Vinyl.SongTableModel();
+        List<Vinyl.Song> songs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) songs.add(song(i + 1, "Title " + (i * 37 % 101), i % 6));
+        model.setSongs(songs);
+        VinylCatalog.SongRowSorter sorter = new VinylCatalog.SongRowSorter(model);
+        new JTable(model).setRowSorter(sorter); // JTable forwards model events to the sorter
+        sorter.toggleSortOrder(2);
+        model.addSong(song(1000, "Aardvark", 2));
+        model.addSong(song(1001, "Zebra", 3));
+        model.removeAt(17);
+        model.getSong(40).title = "Middle";
+        model.songUpdated(40);
+        sorter.sort();
+        TableRowSorter<Vinyl.SongTableModel> stock = new TableRowSorter<>(model);
+        stock.setSortKeys(sorter.getSortKeys());
+        boolean same = sorter.getViewRowCount() == stock.getViewRowCount();
+        for (int v = 0; same && v < sorter.getViewRowCount(); v++) {
+            same = model.getSong(sorter.convertRowIndexToModel(v)).title.equals(model.getSong(stock.convertRowIndexToModel(v)).title);
+        }
+        check("sort keys patched on insert/delete/update", same, "order differs from TableRowSorter");
+    }
+
+    private static String ratingsInView(Vinyl.SongTableModel model, VinylCatalog.SongRowSorter sorter) {
+        StringBuilder sb = new StringBuilder();
+        for (int v = 0; v < sorter.getViewRowCount(); v++) {
+            if (v > 0) sb.append(' ');
+            sb.append(model.getSong(sorter.convertRowIndexToModel(v)).rating);
+        }
+        return sb.toString();
+    }
+
+    // ---------- Query cache ----------
+    // Cached filter results are patched on insert/delete/update instead of rescanned; after
+    // each kind of change the patched bits must equal a fresh scan
+    private static void queryCachePatching() {
+        Vinyl.SongTableModel model = new Vinyl.SongTableModel();
+        List<Vinyl.Song> songs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Vinyl.Song s = song(i + 1, (i % 3 == 0 ? "Blue " : "Red ") + i, i % 6);
+            s.genre = i % 4 == 0 ? "Jazz" : "Rock";
+            s.count = i % 5;
+            songs.add(s);
+        }
+        model.setSongs(songs);
+        VinylSearch.QueryCache cache = new VinylSearch.QueryCache(model, VinylSearch.QueryCache.DEFAULT_CAPACITY);
+        VinylSearch.Query blue = new VinylSearch.Query("blue", false);
+        VinylSearch.Query stocked = new VinylSearch.Query("jazz", true);
+        for (VinylSearch.Query q : List.of(blue, stocked)) cache.put(q, scan(model, q));
+
+        model.addSong(song(500, "Blue Insert", 3));
+        model.removeAt(7);
+        model.removeAt(0);
+        Vinyl.Song edited = model.getSong(10);
+        edited.title = "Blue Edit";
+        model.songUpdated(10);
+        Vinyl.Song emptied = model.getSong(20);
+        emptied.genre = "Jazz";
+        emptied.count = 0;
+        model.songUpdated(20);
+        model.setValueAt(5, 30, 9); // rating edit fires an update too
+
+        for (VinylSearch.Query q : List.of(blue, stocked)) {
+            BitSet cached = cache.get(q), fresh = scan(model, q);
+            check("query cache patched for \"" + q.text + "\"", fresh.equals(cached), cached + " vs " + fresh);
+        }
+    }
+
+    private static BitSet scan(Vinyl.SongTableModel model, VinylSearch.Query q) {
+        return VinylSearch.ScanEngine.shared().scan(model.rows(), q::test);
+    }
+
+    // ---------- Cover disk cache ----------
+    private static void diskCache() throws Exception {
+        File dir = Files.createTempDirectory("vinyl-checks").toFile();
+        try {
+            VinylCovers.DiskCache disk = new VinylCovers.DiskCache(dir, 1L << 30);
+            String url = "https://example.invalid/cover.jpg";
+            BufferedImage img = new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB);
+            img.setRGB(3, 4, 0x123456);
+            disk.put(url, 20, img);
+            BufferedImage back = disk.get(url, 20);
+            check("disk cache round trip", back != null && back.getWidth() == 20 && (back.getRGB(3, 4) & 0xFFFFFF) == 0x123456, back);
+
+            // damaged entries are dropped so the cover is fetched again next time
+            File f = disk.fileFor(url, 20);
+            byte[] png = Files.readAllBytes(f.toPath());
+            Files.write(f.toPath(), Arrays.copyOf(png, png.length / 2));
+            check("truncated entry is a miss", disk.get(url, 20) == null, "image returned");
+            check("truncated entry is deleted", !f.exists(), f);
+            Files.write(f.toPath(), new byte[]{1, 2, 3, 4, 5});
+            check("garbage entry is a miss and deleted", disk.get(url, 20) == null && !f.exists(), f);
+
+            // concurrent writers of one key leave one complete file and no temp files behind
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            for (int i = 0; i < 32; i++) pool.execute(() -> disk.put(url, 20, img));
+            pool.shutdown();
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+            String[] left = dir.list((d, n) -> n.endsWith(".tmp"));
+            check("concurrent puts leave no temp files", left != null && left.length == 0, left == null ? null : left.length);
+            check("concurrent puts leave a readable entry", disk.get(url, 20) != null, "miss");
+
+            // temp files orphaned by a crashed writer are swept on the first scan; a fresh
+            // one may belong to a put still in flight and stays
+            File orphan = new File(dir, "orphan.png.tmp"), inFlight = new File(dir, "inflight.png.tmp");
+            Files.write(orphan.toPath(), png);
+            Files.write(inFlight.toPath(), png);
+            orphan.setLastModified(System.currentTimeMillis() - 2 * VinylCovers.DiskCache.STALE_TMP_MS);
+            new VinylCovers.DiskCache(dir, 1L << 30).put(url, 20, img);
+            check("stale temp files are swept", !orphan.exists() && inFlight.exists(), orphan.exists() + "/" + inFlight.exists());
+        } finally {
+            deleteTree(dir);
+        }
+    }
+
+    // ---------- Pre-warm retries ----------
+    private static void retryAfter() {
+        long max = VinylCovers.Prewarmer.MAX_RETRY_AFTER_MS;
+        check("Retry-After seconds", VinylCovers.Prewarmer.retryAfterMs("2") == 2000, VinylCovers.Prewarmer.retryAfterMs("2"));
+        check("Retry-After huge value is clamped", VinylCovers.Prewarmer.retryAfterMs("99999999999999999999") == max, "not clamped");
+        String soon = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusSeconds(3));
+        long ms = VinylCovers.Prewarmer.retryAfterMs(soon);
+        check("Retry-After HTTP date", ms > 1000 && ms <= 3000, ms);
+        String far = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusDays(1));
+        check("Retry-After far date is clamped", VinylCovers.Prewarmer.retryAfterMs(far) == max, VinylCovers.Prewarmer.retryAfterMs(far));
+        check("Retry-After past date or junk is no hint",
+                VinylCovers.Prewarmer.retryAfterMs("Wed, 21 Oct 2015 07:28:00 GMT") == 0
+                        && VinylCovers.Prewarmer.retryAfterMs("soon") == 0, "non-zero");
+    }
+
+    private static void deleteTree(File f) throws IOException {
+        File[] children = f.listFiles();
+        if (children != null) for (File c : children) deleteTree(c);
+        Files.deleteIfExists(f.toPath());
+    }
+}
@@ -12,6 +12,7 @@ public class VinylCli {
     private static boolean SHOW_ONLY_IN_STOCK = false; // when true, list shows only items with count > 0
     // method to run the CLI
     private static final File XML = new File("src/xml/songs.xml");
+    private static VinylSearch.QueryCache queryCache;
     public static void run() {
         java.util.Scanner sc = new java.util.Scanner(System.in);
         System.out.println("Vinyl CLI");
@@ -28,6 +29,11 @@ public class VinylCli {
             }
         }
 
+        // Typeahead index for "suggest" and cached listings for "list"
+        VinylSearch.Suggester suggester = new VinylSearch.Suggester(model);
+        queryCache = new VinylSearch.QueryCache(model, 8);
+        VinylSearch.SimilarIndex similarIndex = new VinylSearch.SimilarIndex(model);
+
         // Auto-save on change
         model.addChangeListener(() -> {
             try {
@@ -65,6 +71,8 @@ public class VinylCli {
                     System.out.println("  rate <id> <0..5>              - set rating");
                     System.out.println("  explicit <id> <true|false>    - set explicit flag");
                     System.out.println("  instock <on|off>              - when on, list only shows items with count > 0");
+                    System.out.println("  suggest [field=]<prefix>      - suggest values (fields: title, artist, album, genre)");
+                    System.out.println("  similar <id> [k]              - list the k songs most like this one (default 5)");
                     System.out.println("  save                          - force save");
                     System.out.println("  gui                           - open GUI and exit CLI");
                     System.out.println("  exit                          - quit");
@@ -98,6 +106,12 @@ public class VinylCli {
                 case "instock":
                     toggleInStockMode(line.substring(7).trim());
                     break;
+                case "suggest":
+                    suggest(suggester, line.substring(7).trim());
+                    break;
+                case "similar":
+                    similar(model, similarIndex, line.substring(7).trim());
+                    break;
                 case "save":
                     File parent = XML.getParentFile();
                     if (parent != null) parent.mkdirs();
@@ -174,11 +188,18 @@ public class VinylCli {
             System.out.println("(no songs)");
             return;
         }
-        for (Vinyl.Song s : rows) {
-            if (SHOW_ONLY_IN_STOCK && s.count <= 0) continue; // hide zero stock when mode is on
-            System.out.printf("#%d  %s — %s  [album=%s, genre=%s, bpm=%d, len=%s, explicit=%s, rating=%d, price=%.2f, count=%d]%n",
+        // hide zero stock when mode is on
+        VinylSearch.Query q = new VinylSearch.Query("", SHOW_ONLY_IN_STOCK);
+        java.util.BitSet shown = queryCache.get(q);
+        if (shown == null) {
+            shown = VinylSearch.ScanEngine.shared().scan(model.rows(), q::test);
+            queryCache.put(q, shown);
+        }
+        for (int i = shown.nextSetBit(0); i >= 0; i = shown.nextSetBit(i + 1)) {
+            Vinyl.Song s = rows.get(i);
+            System.out.printf("#%d  %s — %s  [album=%s, genre=%s, bpm=%d, len=%s, explicit=%s, rating=%d, price=%s, count=%d]%n",
                     s.id, s.title, s.artist, s.album, s.genre, s.bpm,
-                    Vinyl.Song.formatDuration(s.lengthSeconds), s.explicit, s.rating, s.price, s.count);
+                    s.durationText(), s.explicit, s.rating, s.priceText(), s.count);
         }
     }
     // add a song to the table
@@ -376,15 +397,63 @@ public class VinylCli {
         Vinyl.Song s = model.getSong(idx);
         s.explicit = flag;
         // fire refresh + notify save
-        model.fireTableRowsUpdated(idx, idx);
-        // since we updated the object, also notify modelChanged
-        try {
-            java.lang.reflect.Method m = model.getClass().getDeclaredMethod("notifyChanged");
-            m.setAccessible(true);
-            m.invoke(model);
-        } catch (Exception ignored) {}
+        model.songUpdated(idx);
         System.out.println("Explicit id=" + id + " = " + flag);
     }
+    // print the most common values starting with a prefix, e.g. "suggest artist=the"
+    private static void suggest(VinylSearch.Suggester suggester, String arg) {
+        if (arg.isEmpty()) {
+            System.out.println("Usage: suggest [field=]<prefix>   (fields: title, artist, album, genre)");
+            return;
+        }
+        List<String> found;
+        int eq = arg.indexOf('=');
+        if (eq > 0) {
+            VinylSearch.Suggester.Field f = VinylSearch.Suggester.field(arg.substring(0, eq));
+            if (f == null) {
+                System.out.println("Unknown field: " + arg.substring(0, eq) + " (fields: title, artist, album, genre)");
+                return;
+            }
+            found = suggester.suggest(f, unquote(arg.substring(eq + 1)), 10);
+        } else {
+            found = suggester.suggest(unquote(arg), 10);
+        }
+        if (found.isEmpty()) {
+            System.out.println("(no suggestions)");
+            return;
+        }
+        for (String v : found) System.out.println("  " + v);
+    }
+
+    // list the songs nearest to one by bpm, length, genre and artist
+    private static void similar(Vinyl.SongTableModel model, VinylSearch.SimilarIndex index, String arg) {
+        String[] p = arg.isEmpty() ? new String[0] : arg.split("\\s+");
+        if (p.length < 1 || p.length > 2) { System.out.println("Usage: similar <id> [k]"); return; }
+        int id = parseInt(p[0], -1);
+        int k = p.length > 1 ? parseInt(p[1], 5) : 5;
+        int idx = findById(model, id);
+        if (idx < 0) { System.out.println("No such id: " + id); return; }
+        Vinyl.Song s = model.getSong(idx);
+        List<Vinyl.Song> found = index.nearest(s, k);
+        if (found.isEmpty()) {
+            System.out.println("(no similar songs)");
+            return;
+        }
+        for (Vinyl.Song x : found) {
+            System.out.printf("#%d  %s — %s  [genre=%s, bpm=%d, len=%s]%n",
+                    x.id, x.title, x.artist, x.genre, x.bpm, x.durationText());
+        }
+    }
+
+    // strip one pair of surrounding quotes, as accepted by add/edit
+    private static String unquote(String v) {
+        String t = v.trim();
+        if (t.length() >= 2 && (t.startsWith("\"") && t.endsWith("\"") || t.startsWith("'") && t.endsWith("'"))) {
+            return t.substring(1, t.length() - 1);
+        }
+        return t;
+    }
+
     // method to hide items that have coun
     private static void toggleInStockMode(String arg) {
         // convert null into an empty string and trim white spaces
@@ -447,9 +516,7 @@ public class VinylCli {
             for (LogEntry entry : LogEntry.activityLog) {
                 String time = entry.getTimestampText();
                 String song = escapeCsv(entry.getSongTitle());
-                String total = entry.getTotalPrice() == 0.0
-                        ? ""
-                        : String.format("%.2f", entry.getTotalPrice());
+                String total = entry.getTotalText();
                 String msg = escapeCsv(entry.getMessage());
                 out.printf("%s,%s,%s,%s%n", time, song, total, msg);
             }
@@ -480,9 +547,7 @@ public class VinylCli {
         for (LogEntry entry : LogEntry.activityLog) {
             String time = entry.getTimestampText();
             String song = entry.getSongTitle();
-            String total = entry.getTotalPrice() == 0.0
-                    ? ""
-                    : String.format("%.2f", entry.getTotalPrice());
+            String total = entry.getTotalText();
             String msg = entry.getMessage();
 
             // Truncate very long song names so columns stay readable
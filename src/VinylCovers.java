@@ -0,0 +1,774 @@
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.awt.image.MultiResolutionImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToIntBiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Cover art loading and caching shared by the table and dialogs.
+// Covers are fetched and decoded off the EDT; callers get a placeholder until they arrive.
+// Scaled covers live in one bounded cache keyed by (path, size), shared by every song,
+// and remote covers are also kept as small thumbnails on disk across runs.
+public final class VinylCovers {
+    private VinylCovers() {}
+
+    // Opens the encoded image behind a cover path (http(s) URL or local file).
+    // Swappable so the loader can be pointed at a local HTTP stand-in.
+    public interface Fetcher {
+        InputStream open(String path) throws IOException;
+    }
+
+    // Remote opens time out like the pre-warmer's requests: the loader has a handful of
+    // workers, and a few stalled connections must not hold up every cover behind them.
+    public static final Fetcher DEFAULT_FETCHER = path -> {
+        if (path.startsWith("http://") || path.startsWith("https://")) {
+            URLConnection conn = new URL(path).openConnection();
+            conn.setConnectTimeout((int) Prewarmer.CONNECT_TIMEOUT.toMillis());
+            conn.setReadTimeout((int) Prewarmer.REQUEST_TIMEOUT.toMillis());
+            return conn.getInputStream();
+        }
+        return new FileInputStream(path);
+    };
+
+    // ---------- Placeholders and failed loads ----------
+    // Shared placeholder for a square size (memoized by Song.placeholderIcon)
+    public static ImageIcon placeholder(int size) {
+        return Vinyl.Song.placeholderIcon(size, size);
+    }
+
+    // Negative cache: paths that failed to load are not retried on every paint, only
+    // after RETRY_FAILED_MS (so a cover that was offline comes back eventually).
+    static final long RETRY_FAILED_MS = 5 * 60 * 1000L;
+    private static final int MAX_FAILED = 10_000;
+    private static final Map<String, Long> FAILED = new ConcurrentHashMap<>();
+
+    public static boolean isKnownBroken(String path) {
+        Long at = FAILED.get(path);
+        if (at == null) return false;
+        if (System.currentTimeMillis() - at < RETRY_FAILED_MS) return true;
+        FAILED.remove(path, at);
+        return false;
+    }
+
+    static void markBroken(String path) {
+        if (FAILED.size() >= MAX_FAILED) FAILED.clear();
+        FAILED.put(path, System.currentTimeMillis());
+    }
+
+    // forget failures, e.g. after the user picks new artwork for a path
+    public static void forgetBroken(String path) { FAILED.remove(path); }
+
+    // ---------- Memory cache ----------
+    // LRU of scaled covers with a byte budget. Entries pushed out by the budget are kept
+    // behind soft references, so the GC can reclaim them under pressure but a quick
+    // scroll back usually still finds them.
+    public static final class MemoryCache {
+        private final long budgetBytes;
+        private long usedBytes;
+        private final LinkedHashMap<String, ImageIcon> strong = new LinkedHashMap<>(64, 0.75f, true);
+        private final Map<String, SoftEntry> soft = new HashMap<>();
+        private final ReferenceQueue<ImageIcon> cleared = new ReferenceQueue<>();
+
+        private static final class SoftEntry extends SoftReference<ImageIcon> {
+            final String key;
+            SoftEntry(String key, ImageIcon icon, ReferenceQueue<ImageIcon> q) { super(icon, q); this.key = key; }
+        }
+
+        public MemoryCache(long budgetBytes) {
+            this.budgetBytes = budgetBytes;
+        }
+
+        static long bytesOf(ImageIcon icon) {
+            if (icon.getImage() instanceof MultiResolutionImage mri) {
+                long sum = 0;
+                for (Image v : mri.getResolutionVariants()) sum += 4L * Math.max(1, v.getWidth(null)) * Math.max(1, v.getHeight(null));
+                return sum;
+            }
+            return 4L * Math.max(1, icon.getIconWidth()) * Math.max(1, icon.getIconHeight());
+        }
+
+        public synchronized ImageIcon get(String path, int size) {
+            String key = key(path, size);
+            ImageIcon icon = strong.get(key);
+            if (icon != null) return icon;
+            SoftEntry ref = soft.remove(key);
+            icon = ref == null ? null : ref.get();
+            if (icon != null) put(key, icon); // promote back into the LRU
+            return icon;
+        }
+
+        public synchronized void put(String path, int size, ImageIcon icon) {
+            if (path == null || icon == null) return;
+            put(key(path, size), icon);
+        }
+
+        private void put(String key, ImageIcon icon) {
+            purgeCleared();
+            ImageIcon old = strong.put(key, icon);
+            if (old != null) usedBytes -= bytesOf(old);
+            usedBytes += bytesOf(icon);
+            for (Iterator<Map.Entry<String, ImageIcon>> it = strong.entrySet().iterator();
+                 usedBytes > budgetBytes && it.hasNext(); ) {
+                Map.Entry<String, ImageIcon> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                it.remove();
+                usedBytes -= bytesOf(eldest.getValue());
+                soft.put(eldest.getKey(), new SoftEntry(eldest.getKey(), eldest.getValue(), cleared));
+            }
+        }
+
+        // forget soft entries whose image the GC already reclaimed
+        private void purgeCleared() {
+            for (SoftEntry ref; (ref = (SoftEntry) cleared.poll()) != null; ) {
+                if (soft.get(ref.key) == ref) soft.remove(ref.key);
+            }
+        }
+
+        public synchronized long usedBytes() { return usedBytes; }
+
+        public synchronized void clear() {
+            strong.clear();
+            soft.clear();
+            usedBytes = 0;
+        }
+    }
+
+    // ---------- Disk cache ----------
+    // Content-addressed thumbnails of remote covers: sha-256 of (size, url) -> PNG at the
+    // size we render, in device pixels. A warm start decodes a few KB per cover and makes
+    // no network requests.
+    // Files are touched on read; when the directory grows past its limit the least recently
+    // used ones are deleted.
+    public static final class DiskCache {
+        private final File dir;
+        private final long maxBytes;
+        private final AtomicLong approxBytes = new AtomicLong(-1); // -1 = not scanned yet
+        static final long STALE_TMP_MS = 60_000;
+
+        public DiskCache(File dir, long maxBytes) {
+            this.dir = dir;
+            this.maxBytes = maxBytes;
+        }
+
+        // Only remote covers are worth persisting; local files are already on disk
+        static boolean isRemote(String path) {
+            return path != null && (path.startsWith("http://") || path.startsWith("https://"));
+        }
+
+        File fileFor(String path, int size) {
+            try {
+                MessageDigest md = MessageDigest.getInstance("SHA-256");
+                byte[] h = md.digest(key(path, size).getBytes(StandardCharsets.UTF_8));
+                StringBuilder sb = new StringBuilder(h.length * 2 + 4);
+                for (byte b : h) sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                return new File(dir, sb.append(".png").toString());
+            } catch (Exception e) {
+                throw new IllegalStateException("SHA-256 unavailable", e);
+            }
+        }
+
+        public BufferedImage get(String path, int size) {
+            if (!isRemote(path)) return null;
+            File f = fileFor(path, size);
+            if (!f.isFile()) return null;
+            try {
+                BufferedImage img = ImageIO.read(f);
+                if (img != null) {
+                    f.setLastModified(System.currentTimeMillis());
+                    return img;
+                }
+            } catch (Exception e) {
+                // decoders throw unchecked exceptions on some damaged files too
+            }
+            f.delete(); // truncated, corrupt or unreadable: fetch again
+            return null;
+        }
+
+        public void put(String path, int size, BufferedImage thumb) {
+            if (!isRemote(path) || thumb == null) return;
+            File tmp = null;
+            try {
+                dir.mkdirs();
+                File f = fileFor(path, size);
+                // a temp file of its own per writer: the loader and the pre-warmer may store
+                // the same key at once, and readers only ever see a complete file
+                tmp = File.createTempFile(f.getName(), ".tmp", dir);
+                if (!ImageIO.write(thumb, "png", tmp)) return;
+                long len = tmp.length();
+                try {
+                    Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                if (usage() + len > maxBytes) trim();
+                else approxBytes.addAndGet(len);
+            } catch (IOException ignored) {
+                // cache is best effort
+            } finally {
+                if (tmp != null) tmp.delete(); // no-op once moved
+            }
+        }
+
+        private long usage() {
+            if (approxBytes.get() < 0) approxBytes.set(scanBytes());
+            return approxBytes.get();
+        }
+
+        private long scanBytes() {
+            sweepTemps();
+            File[] files = dir.listFiles((d, n) -> n.endsWith(".png"));
+            long sum = 0;
+            if (files != null) for (File f : files) sum += f.length();
+            return sum;
+        }
+
+        // drop least recently used thumbnails until we are back under 80% of the limit
+        synchronized void trim() {
+            sweepTemps();
+            File[] files = dir.listFiles((d, n) -> n.endsWith(".png"));
+            if (files == null) return;
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            long sum = 0;
+            for (File f : files) sum += f.length();
+            long target = maxBytes * 8 / 10;
+            for (int i = 0; i < files.length && sum > target; i++) {
+                long len = files[i].length();
+                if (files[i].delete()) sum -= len;
+            }
+            approxBytes.set(sum);
+        }
+
+        // Temp files left by a writer that died mid-put (crash, kill) are never moved into
+        // place. Anything older than a minute is not an in-flight write and can go.
+        private void sweepTemps() {
+            long cutoff = System.currentTimeMillis() - STALE_TMP_MS;
+            File[] temps = dir.listFiles((d, n) -> n.endsWith(".tmp"));
+            if (temps != null) for (File t : temps) if (t.lastModified() < cutoff) t.delete();
+        }
+    }
+
+    private static final MemoryCache MEMORY = new MemoryCache(64L * 1024 * 1024);
+    private static final DiskCache DISK = new DiskCache(new File("cache/covers"), 256L * 1024 * 1024);
+
+    public static MemoryCache memory() { return MEMORY; }
+    public static DiskCache disk() { return DISK; }
+
+    // Scaled cover already in memory, or null
+    public static ImageIcon cached(String path, int size) {
+        if (path == null || path.isEmpty()) return null;
+        return MEMORY.get(path, size);
+    }
+
+    // Synchronous load through the shared caches, for callers already off the EDT
+    public static ImageIcon load(String path, int size) {
+        if (path == null || path.isEmpty()) return null;
+        return resolve(path, size, DEFAULT_FETCHER, MEMORY, DISK);
+    }
+
+    // memory -> disk thumbnail -> fetch, decode and scale; fills the caches on the way back
+    static ImageIcon resolve(String path, int size, Fetcher fetcher, MemoryCache memory, DiskCache disk) {
+        ImageIcon icon = memory.get(path, size);
+        if (icon != null) return icon;
+        if (isKnownBroken(path)) return null;
+        String source = variantFor(path, devicePixels(size));
+        try {
+            BufferedImage thumb = disk == null ? null : disk.get(source, size);
+            if (thumb != null) {
+                icon = coverIcon(thumb, size);
+            } else {
+                BufferedImage img;
+                try (InputStream in = fetcher.open(source)) {
+                    img = decode(in, devicePixels(size));
+                }
+                if (img == null) {
+                    markBroken(path); // not an image ImageIO can read
+                    return null;
+                }
+                icon = coverIcon(img, size);
+                if (disk != null) disk.put(source, size, largest(icon));
+                // the same decode also serves the table thumbnail, so opening a preview first
+                // does not cost the row a second fetch and decode
+                int thumbSize = Vinyl.SongTableModel.COVER_SIZE;
+                if (size > thumbSize && memory.get(path, thumbSize) == null) {
+                    memory.put(path, thumbSize, coverIcon(img, thumbSize));
+                }
+            }
+            memory.put(path, size, icon);
+            return icon;
+        } catch (Exception e) {
+            markBroken(path);
+            return null;
+        }
+    }
+
+    // ---------- Scaling pipeline ----------
+    // Decode for a target size: when the source is more than twice the target, let the
+    // reader skip pixels (ImageReadParam source subsampling) so we never hold the full image,
+    // while keeping at least 2x the target for the filtering steps below.
+    static BufferedImage decode(InputStream in, int target) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int w = reader.getWidth(0), h = reader.getHeight(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.min(w, h) / (target * 2);
+                if (step >= 2) param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Scale to size x size: halve with bilinear filtering until within 2x of the target,
+    // then one last bilinear step. Matches SCALE_SMOOTH closely at a fraction of the cost,
+    // and the result is a screen-compatible image, so painting it is a plain blit.
+    static BufferedImage scale(Image src, int size) {
+        int w = src.getWidth(null), h = src.getHeight(null);
+        if (w <= 0 || h <= 0) return null;
+        Image cur = src;
+        while (w / 2 >= size && h / 2 >= size) {
+            w /= 2;
+            h /= 2;
+            cur = drawScaled(cur, w, h);
+        }
+        return drawScaled(cur, size, size);
+    }
+
+    private static BufferedImage drawScaled(Image src, int w, int h) {
+        BufferedImage out = compatibleImage(w, h);
+        Graphics2D g = out.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return out;
+    }
+
+    // ---------- Multi-resolution covers ----------
+    // A cover at a logical size holds a 1x image plus, on HiDPI screens, one at device pixels
+    // (44 and 88 at 200%), both derived from a single decode; Swing paints whichever matches
+    // the screen.
+    static ImageIcon coverIcon(BufferedImage decoded, int size) {
+        int device = devicePixels(size);
+        BufferedImage hi = scale(decoded, device);
+        if (device == size) return new ImageIcon(hi);
+        return new ImageIcon(new BaseMultiResolutionImage(scale(hi, size), hi));
+    }
+
+    // Highest-resolution image behind a cover icon
+    static BufferedImage largest(ImageIcon icon) {
+        Image img = icon.getImage();
+        if (img instanceof MultiResolutionImage mri) {
+            List<Image> variants = mri.getResolutionVariants();
+            img = variants.get(variants.size() - 1);
+        }
+        return (BufferedImage) img;
+    }
+
+    static BufferedImage compatibleImage(int w, int h) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    static String key(String path, int size) { return size + "@" + path; }
+
+    // ---------- Remote artwork variants ----------
+    // Artwork CDNs such as mzstatic encode the size in the file name (".../100x100bb.jpg") and
+    // render other sizes on request. Fetch the smallest step of VARIANT_LADDER that still covers
+    // the target in device pixels instead of whatever size happened to be stored; each variant
+    // is cached on disk under its own URL.
+    static final int[] VARIANT_LADDER = {60, 100, 200, 300, 400, 600, 1000};
+    private static final Pattern SIZED_NAME = Pattern.compile("/(\\d+)x(\\d+)bb\\.(jpg|png|webp)$");
+
+    public static String variantFor(String path, int pixels) {
+        if (path == null || !DiskCache.isRemote(path)) return path;
+        Matcher m = SIZED_NAME.matcher(path);
+        if (!m.find()) return path;
+        int side = VARIANT_LADDER[VARIANT_LADDER.length - 1];
+        for (int step : VARIANT_LADDER) {
+            if (step >= pixels) {
+                side = step;
+                break;
+            }
+        }
+        return path.substring(0, m.start()) + "/" + side + "x" + side + "bb." + m.group(3);
+    }
+
+    // Device pixels for a logical size on the default screen (2x on a Retina / 200% display)
+    static int devicePixels(int size) {
+        double scale = 1;
+        if (!GraphicsEnvironment.isHeadless()) {
+            scale = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDefaultConfiguration().getDefaultTransform().getScaleX();
+        }
+        return (int) Math.ceil(size * scale);
+    }
+
+    // ---------- Async loader ----------
+    // Fetches, decodes and scales covers on a small fixed pool. Requests for a key that is
+    // already queued are folded into the pending one; callbacks run on the EDT.
+    // The queue is ordered by priority (0 = on screen now, larger = further from the
+    // viewport), newest request first within a priority, and reprioritize() lets the view
+    // re-rank or cancel queued work as it scrolls.
+    public static final class Loader {
+        private final ThreadPoolExecutor pool;
+        private final Fetcher fetcher;
+        private final MemoryCache cache;
+        private final DiskCache disk;
+        private final Map<String, Task> pending = new ConcurrentHashMap<>();
+        private final AtomicLong seq = new AtomicLong();
+
+        // One queued load; owners are whoever asked (usually songs), each with its callback
+        private final class Task implements Runnable, Comparable<Task> {
+            final String path;
+            final int size;
+            final String key;
+            final Map<Object, Consumer<ImageIcon>> owners = new IdentityHashMap<>();
+            volatile int priority;
+            // newest first among equal priorities: after a fling the rows that just came
+            // into view outrank the ones that scrolled past while the loads were queued
+            long order = seq.incrementAndGet();
+
+            Task(String path, int size, int priority) {
+                this.path = path;
+                this.size = size;
+                this.key = key(path, size);
+                this.priority = priority;
+            }
+
+            @Override public int compareTo(Task o) {
+                return priority != o.priority ? Integer.compare(priority, o.priority) : Long.compare(o.order, order);
+            }
+
+            @Override public void run() {
+                if (pending.get(key) != this) return; // cancelled while queued
+                // null result: unreadable/offline cover, caller keeps its placeholder
+                ImageIcon result = resolve(path, size, fetcher, cache, disk);
+                pending.remove(key, this);
+                List<Consumer<ImageIcon>> callbacks;
+                synchronized (owners) {
+                    callbacks = new ArrayList<>(owners.values());
+                }
+                SwingUtilities.invokeLater(() -> {
+                    for (Consumer<ImageIcon> c : callbacks) c.accept(result);
+                });
+            }
+        }
+
+        public Loader(int threads, Fetcher fetcher, MemoryCache cache, DiskCache disk) {
+            this.fetcher = fetcher;
+            this.cache = cache;
+            this.disk = disk;
+            // A small fixed pool rather than a thread per request: it drains the priority queue in
+            // order (on-screen rows first) and caps concurrent connections to the cover host.
+            AtomicInteger n = new AtomicInteger();
+            ThreadPoolExecutor tpe = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new PriorityBlockingQueue<>(), r -> {
+                        Thread t = new Thread(r, "cover-loader-" + n.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+            tpe.allowCoreThreadTimeOut(true);
+            this.pool = tpe;
+        }
+
+        // Load path scaled to size x size in the background, ahead of anything off screen.
+        // onLoaded gets the icon on the EDT, or null if the image could not be read. Repeat
+        // requests from the same owner (e.g. every repaint of a row) keep a single callback.
+        public void request(String path, int size, Object owner, Consumer<ImageIcon> onLoaded) {
+            request(path, size, owner, onLoaded, 0);
+        }
+
+        // Same, queued behind closer work: priority is the distance from the viewport
+        public void request(String path, int size, Object owner, Consumer<ImageIcon> onLoaded, int priority) {
+            if (isKnownBroken(path)) return; // failed recently; the placeholder stays
+            Task[] created = {null};
+            Task t = pending.compute(key(path, size), (k, task) -> {
+                if (task == null) task = created[0] = new Task(path, size, priority);
+                synchronized (task.owners) {
+                    task.owners.putIfAbsent(owner, onLoaded);
+                }
+                return task;
+            });
+            if (created[0] != null) {
+                pool.execute(t);
+            } else if (priority < t.priority && pool.remove(t)) {
+                // came closer to the viewport: re-queue at the new rank, as the newest request
+                t.priority = priority;
+                t.order = seq.incrementAndGet();
+                pool.execute(t);
+            }
+        }
+
+        // Returned by a ranker for owners it does not manage: their claim keeps its priority
+        public static final int KEEP = Integer.MAX_VALUE;
+
+        // Re-rank queued loads by their owners' current distance from the viewport.
+        // distance(owner, path) returns < 0 for owners that scrolled far away, or KEEP for
+        // owners belonging to another view; a load none of whose owners is still near is
+        // cancelled instead of fetched.
+        public void reprioritize(ToIntBiFunction<Object, String> distance) {
+            List<Runnable> queued = new ArrayList<>();
+            pool.getQueue().drainTo(queued);
+            for (Runnable r : queued) {
+                Task t = (Task) r;
+                int best = Integer.MAX_VALUE;
+                synchronized (t.owners) {
+                    for (Object o : t.owners.keySet()) {
+                        int d = distance.applyAsInt(o, t.path);
+                        if (d == KEEP) d = t.priority;
+                        if (d >= 0) best = Math.min(best, d);
+                    }
+                }
+                if (best == Integer.MAX_VALUE) {
+                    pending.remove(t.key, t);
+                } else {
+                    t.priority = best;
+                    pool.execute(t);
+                }
+            }
+        }
+
+        public boolean isPending(String path, int size) { return pending.containsKey(key(path, size)); }
+
+        public int queued() { return pool.getQueue().size(); }
+
+        public void shutdown() { pool.shutdownNow(); }
+    }
+
+    private static final Loader SHARED = new Loader(4, DEFAULT_FETCHER, MEMORY, DISK);
+
+    public static Loader loader() { return SHARED; }
+
+    // ---------- Startup pre-warm ----------
+    // Resolves every distinct cover path once, ahead of scrolling, so the table paints from
+    // cache. Remote covers go through one HttpClient (pooled keep-alive / HTTP/2 connections)
+    // with at most `concurrency` requests in flight, so a large library does not hammer the origin.
+    // Failed requests (I/O, 429, 5xx) are retried with exponential backoff.
+    public static final class Prewarmer {
+        static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+        static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
+        static final int MAX_ATTEMPTS = 3;
+        static final long BACKOFF_MS = 250;
+        static final long MAX_RETRY_AFTER_MS = 5_000; // an origin can slow a worker down, not park it
+        private static final long PROGRESS_EVERY_MS = 250;
+
+        public record Stats(int total, int loaded, int cached, int failed, long bytes, long elapsedMs) {
+            public int done() { return loaded + cached + failed; }
+            public double perSecond() { return elapsedMs == 0 ? 0 : done() * 1000.0 / elapsedMs; }
+            @Override public String toString() {
+                return String.format("%d/%d covers (%d fetched, %d cached, %d failed), %.0f/s, %d KB",
+                        done(), total, loaded, cached, failed, perSecond(), bytes / 1024);
+            }
+        }
+
+        // Called from pool threads, at most every PROGRESS_EVERY_MS and once at the end
+        public interface Progress {
+            void update(Stats soFar);
+        }
+
+        private enum Outcome { LOADED, CACHED, FAILED }
+
+        private final int concurrency;
+        private final MemoryCache memory;
+        private final DiskCache disk;
+        private final ExecutorService exec;
+        private final HttpClient client;
+        private final AtomicLong bytes = new AtomicLong();
+        private volatile boolean cancelled;
+
+        public Prewarmer(int concurrency, MemoryCache memory, DiskCache disk) {
+            this.concurrency = concurrency;
+            this.memory = memory;
+            this.disk = disk;
+            AtomicInteger n = new AtomicInteger();
+            this.exec = Executors.newFixedThreadPool(concurrency, r -> {
+                Thread t = new Thread(r, "cover-prewarm-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            this.client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2) // falls back to HTTP/1.1 keep-alive
+                    .connectTimeout(CONNECT_TIMEOUT)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .executor(exec)
+                    .build();
+        }
+
+        public void cancel() { cancelled = true; }
+
+        // Blocks until every path is resolved (or cancel() is called); run off the EDT
+        public Stats run(Collection<String> paths, int size, Progress progress) throws InterruptedException {
+            Set<String> distinct = new LinkedHashSet<>();
+            for (String p : paths) if (p != null && !p.isEmpty()) distinct.add(p);
+            int total = distinct.size();
+            AtomicInteger[] counts = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+            AtomicLong lastReport = new AtomicLong();
+            long start = System.nanoTime();
+            Semaphore inFlight = new Semaphore(concurrency);
+            try {
+                for (String path : distinct) {
+                    if (cancelled) break;
+                    inFlight.acquire();
+                    warm(path, size).whenComplete((outcome, err) -> {
+                        counts[(err != null ? Outcome.FAILED : outcome).ordinal()].incrementAndGet();
+                        inFlight.release();
+                        long now = System.nanoTime();
+                        long last = lastReport.get();
+                        if (progress != null && now - last > PROGRESS_EVERY_MS * 1_000_000
+                                && lastReport.compareAndSet(last, now)) {
+                            progress.update(stats(total, counts, start));
+                        }
+                    });
+                }
+                inFlight.acquire(concurrency); // wait for the tail
+            } finally {
+                exec.shutdown();
+            }
+            Stats done = stats(total, counts, start);
+            if (progress != null) progress.update(done);
+            return done;
+        }
+
+        private Stats stats(int total, AtomicInteger[] counts, long start) {
+            return new Stats(total, counts[0].get(), counts[1].get(), counts[2].get(), bytes.get(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+
+        private CompletableFuture<Outcome> warm(String path, int size) {
+            return CompletableFuture.supplyAsync(() -> fromCache(path, size), exec).thenCompose(hit -> {
+                if (hit) return CompletableFuture.completedFuture(Outcome.CACHED);
+                if (isKnownBroken(path)) return CompletableFuture.completedFuture(Outcome.FAILED);
+                if (!DiskCache.isRemote(path)) {
+                    return CompletableFuture.supplyAsync(() -> outcome(resolve(path, size, DEFAULT_FETCHER, memory, disk)), exec);
+                }
+                return fetch(variantFor(path, devicePixels(size)), 1).thenApplyAsync(body -> {
+                    if (body == null) {
+                        markBroken(path);
+                        return Outcome.FAILED;
+                    }
+                    bytes.addAndGet(body.length);
+                    return outcome(resolve(path, size, p -> new ByteArrayInputStream(body), memory, disk));
+                }, exec);
+            });
+        }
+
+        private static Outcome outcome(ImageIcon icon) { return icon != null ? Outcome.LOADED : Outcome.FAILED; }
+
+        // memory, then the disk thumbnail (promoted into memory)
+        private boolean fromCache(String path, int size) {
+            if (memory.get(path, size) != null) return true;
+            BufferedImage thumb = disk == null ? null : disk.get(variantFor(path, devicePixels(size)), size);
+            if (thumb == null) return false;
+            memory.put(path, size, coverIcon(thumb, size));
+            return true;
+        }
+
+        // Body bytes, or null once the request has failed MAX_ATTEMPTS times (or cannot succeed)
+        private CompletableFuture<byte[]> fetch(String path, int attempt) {
+            HttpRequest req;
+            try {
+                req = HttpRequest.newBuilder(URI.create(path)).timeout(REQUEST_TIMEOUT).GET().build();
+            } catch (IllegalArgumentException e) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return client.sendAsync(req, HttpResponse.BodyHandlers.ofByteArray()).handle((resp, err) -> {
+                if (err == null && resp.statusCode() == 200) return CompletableFuture.completedFuture(resp.body());
+                boolean retry = err != null || resp.statusCode() == 429 || resp.statusCode() >= 500;
+                if (!retry || cancelled || attempt >= MAX_ATTEMPTS) return CompletableFuture.<byte[]>completedFuture(null);
+                long delay = BACKOFF_MS << (attempt - 1);
+                if (resp != null) {
+                    // honour Retry-After when the origin asks us to slow down
+                    delay = Math.max(delay, retryAfterMs(resp.headers().firstValue("Retry-After").orElse(null)));
+                }
+                return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, exec))
+                        .thenCompose(x -> fetch(path, attempt + 1));
+            }).thenCompose(f -> f);
+        }
+
+        // Retry-After as a delay: delta-seconds or an HTTP date (RFC 1123), clamped to
+        // 0..MAX_RETRY_AFTER_MS; anything unparseable counts as no hint
+        static long retryAfterMs(String value) {
+            if (value == null || value.isBlank()) return 0;
+            String v = value.trim();
+            long ms;
+            if (v.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                ms = v.length() > 9 ? MAX_RETRY_AFTER_MS : Long.parseLong(v) * 1000;
+            } else {
+                try {
+                    ms = Duration.between(Instant.now(), ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME)).toMillis();
+                } catch (DateTimeParseException e) {
+                    ms = 0;
+                }
+            }
+            return Math.max(0, Math.min(ms, MAX_RETRY_AFTER_MS));
+        }
+    }
+}
@@ -0,0 +1,279 @@
+import javax.swing.JComponent;
+import javax.swing.JLayeredPane;
+import javax.swing.RepaintManager;
+import javax.swing.Timer;
+import java.awt.AWTEvent;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Toolkit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Diagnostics mode for the GUI (-Dvinyl.diagnostics=true), off by default:
+// - an EDT watchdog that reports events holding the EDT past a threshold, with stack samples
+//   (-Dvinyl.diagnostics.edtMs=N, default 100)
+// - paint time histograms for the table renderers
+// - a frame time overlay fed by a timing RepaintManager
+// Everything is keyed off ENABLED, a compile-time-constant-like static final, so when it is
+// false the hooks in the renderers fold away and nothing is installed.
+public final class VinylDiagnostics {
+    private VinylDiagnostics() {}
+
+    public static final boolean ENABLED = Boolean.getBoolean("vinyl.diagnostics");
+    static final long EDT_THRESHOLD_MS = Long.getLong("vinyl.diagnostics.edtMs", 100);
+
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Histogram FRAMES = new Histogram("frame");
+    private static EdtWatchdog watchdog;
+
+    // Pushes the watchdog queue, installs the timing repaint manager and prints a report on
+    // exit. Call once, on the EDT, before the first window is shown.
+    public static void install() {
+        if (!ENABLED || watchdog != null) return;
+        watchdog = new EdtWatchdog(EDT_THRESHOLD_MS);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog);
+        RepaintManager.setCurrentManager(new FrameTimer());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(report()), "diagnostics-report"));
+    }
+
+    // Shared histogram for one renderer (or any other painted thing), created on first use
+    public static Histogram histogram(String name) {
+        return HISTOGRAMS.computeIfAbsent(name, Histogram::new);
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder("---- diagnostics ----\n");
+        sb.append(FRAMES.summary()).append('\n');
+        List<Histogram> all = new ArrayList<>(HISTOGRAMS.values());
+        all.sort(Comparator.comparing(h -> h.name));
+        for (Histogram h : all) sb.append(h.summary()).append('\n');
+        if (watchdog != null) {
+            sb.append("EDT stalls over ").append(watchdog.thresholdMs).append(" ms: ").append(watchdog.stalls.get()).append('\n');
+            for (String r : watchdog.recent()) sb.append(r);
+        }
+        return sb.toString();
+    }
+
+    // ---------- Histograms ----------
+    // Power-of-two buckets in microseconds: <1, <2, <4 ... <32768, and everything above.
+    // Lock-free so the EDT can record while a report is being read elsewhere.
+    public static final class Histogram {
+        private static final int BUCKETS = 17;
+        final String name;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong(), totalNanos = new AtomicLong(), maxNanos = new AtomicLong();
+        private volatile long lastNanos;
+
+        Histogram(String name) { this.name = name; }
+
+        public void record(long nanos) {
+            long micros = nanos / 1000;
+            int b = micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            buckets.incrementAndGet(b);
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            lastNanos = nanos;
+        }
+
+        public long count() { return count.get(); }
+        public double lastMs() { return lastNanos / 1e6; }
+        public double maxMs() { return maxNanos.get() / 1e6; }
+        public double meanMs() { long n = count.get(); return n == 0 ? 0 : totalNanos.get() / 1e6 / n; }
+
+        // upper bound of the bucket holding the given quantile, in microseconds
+        public long percentileMicros(double q) {
+            long n = count.get(), seen = 0, target = (long) Math.ceil(n * q);
+            if (n == 0) return 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += buckets.get(b);
+                if (seen >= target && seen > 0) return 1L << b;
+            }
+            return 1L << (BUCKETS - 1);
+        }
+
+        String summary() {
+            if (count() == 0) return String.format("%-18s no samples", name);
+            return String.format("%-18s n=%-8d mean=%.3f ms  p50<%d us  p99<%d us  max=%.3f ms",
+                    name, count(), meanMs(), percentileMicros(0.5), percentileMicros(0.99), maxMs());
+        }
+    }
+
+    // ---------- EDT watchdog ----------
+    // Times every dispatched event. A sampler thread grabs the EDT's stack while an event runs
+    // past the threshold; when it finishes, the stall is printed with its most common stack.
+    // Events that pump a nested loop (modal dialogs) leave the EDT free and are not reported.
+    static final class EdtWatchdog extends EventQueue {
+        private static final int MAX_SAMPLES = 50;
+        private static final int KEEP_REPORTS = 20;
+
+        final long thresholdMs;
+        private final long thresholdNanos;
+        final AtomicLong stalls = new AtomicLong();
+        private final Deque<String> reports = new ArrayDeque<>();
+        private final List<StackTraceElement[]> samples = new ArrayList<>();
+        private volatile Thread edt;
+        private volatile long dispatchStart; // 0 while idle
+        private volatile long dispatchSeq;
+
+        EdtWatchdog(long thresholdMs) {
+            this.thresholdMs = thresholdMs;
+            this.thresholdNanos = thresholdMs * 1_000_000;
+            Thread sampler = new Thread(this::sample, "edt-watchdog");
+            sampler.setDaemon(true);
+            sampler.start();
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            edt = Thread.currentThread();
+            long seq = ++dispatchSeq;
+            long t0 = System.nanoTime();
+            dispatchStart = t0;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long took = System.nanoTime() - t0;
+                boolean nested = dispatchSeq != seq;
+                dispatchStart = 0;
+                dispatchSeq++;
+                List<StackTraceElement[]> taken;
+                synchronized (samples) {
+                    taken = new ArrayList<>(samples);
+                    samples.clear();
+                }
+                if (!nested && took > thresholdNanos) stalled(event, took, taken);
+            }
+        }
+
+        private void sample() {
+            long interval = Math.max(5, thresholdMs / 4);
+            while (true) {
+                try {
+                    Thread.sleep(interval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long start = dispatchStart, seq = dispatchSeq;
+                Thread t = edt;
+                if (start == 0 || t == null || System.nanoTime() - start < thresholdNanos) continue;
+                StackTraceElement[] stack = t.getStackTrace();
+                synchronized (samples) {
+                    // the event may have finished while the stack was taken
+                    if (seq == dispatchSeq && samples.size() < MAX_SAMPLES) samples.add(stack);
+                }
+            }
+        }
+
+        private void stalled(AWTEvent event, long took, List<StackTraceElement[]> taken) {
+            stalls.incrementAndGet();
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("EDT blocked %.1f ms by %s from %s (%d samples)%n",
+                    took / 1e6, event.getClass().getSimpleName(), sourceName(event.getSource()), taken.size()));
+            // most frequent sampled stack, cut below the event dispatch frames
+            Map<String, Integer> counts = new HashMap<>();
+            String top = null;
+            for (StackTraceElement[] stack : taken) {
+                StringBuilder s = new StringBuilder();
+                for (StackTraceElement f : stack) {
+                    if (f.getClassName().startsWith("java.awt.EventQueue")) break;
+                    s.append("    at ").append(f).append('\n');
+                }
+                String key = s.toString();
+                int n = counts.merge(key, 1, Integer::sum);
+                if (top == null || n > counts.get(top)) top = key;
+            }
+            if (top != null) sb.append(String.format("  %d/%d samples in:%n", counts.get(top), taken.size())).append(top);
+            String report = sb.toString();
+            System.err.print(report);
+            synchronized (reports) {
+                reports.addLast(report);
+                if (reports.size() > KEEP_REPORTS) reports.removeFirst();
+            }
+        }
+
+        List<String> recent() {
+            synchronized (reports) {
+                return new ArrayList<>(reports);
+            }
+        }
+
+        private static String sourceName(Object src) {
+            if (src instanceof Component c && c.getName() != null) return c.getClass().getSimpleName() + "[" + c.getName() + "]";
+            return src == null ? "null" : src.getClass().getSimpleName();
+        }
+    }
+
+    // ---------- Frame timing ----------
+    // One Swing "frame" is a paintDirtyRegions pass. Viewport blits during scrolling paint
+    // outside it and show up in the watchdog's event timings instead.
+    static final class FrameTimer extends RepaintManager {
+        @Override
+        public void paintDirtyRegions() {
+            long t0 = System.nanoTime();
+            super.paintDirtyRegions();
+            FRAMES.record(System.nanoTime() - t0);
+        }
+    }
+
+    // Small readout in the top-right corner of the window. It lives in the layered pane only
+    // while shown, since any extra layer turns off viewport blitting for the whole window.
+    public static final class FrameOverlay extends JComponent {
+        private static final int W = 250, H = 50;
+        private final JLayeredPane host;
+        private final Timer refresh = new Timer(250, e -> repaint());
+        private long lastFrames;
+        private double fps;
+
+        public FrameOverlay(JLayeredPane host) {
+            this.host = host;
+            setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+            refresh.addActionListener(e -> {
+                long n = FRAMES.count();
+                fps = (n - lastFrames) * 1000.0 / refresh.getDelay();
+                lastFrames = n;
+            });
+        }
+
+        public void setShown(boolean shown) {
+            if (shown == (getParent() != null)) return;
+            if (shown) {
+                lastFrames = FRAMES.count();
+                setBounds(host.getWidth() - W - 16, 16, W, H);
+                host.add(this, JLayeredPane.DRAG_LAYER);
+                refresh.start();
+            } else {
+                refresh.stop();
+                host.remove(this);
+                host.repaint(getX(), getY(), W, H);
+            }
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(new Color(0, 0, 0, 190));
+            g2.fillRoundRect(0, 0, getWidth(), getHeight(), 12, 12);
+            g2.setColor(new Color(220, 220, 220));
+            g2.setFont(getFont());
+            int stalls = watchdog == null ? 0 : (int) watchdog.stalls.get();
+            g2.drawString(String.format("frame %.2f ms  max %.2f  %.0f/s", FRAMES.lastMs(), FRAMES.maxMs(), fps), 10, 20);
+            g2.drawString(String.format("p99 <%d us  EDT stalls %d", FRAMES.percentileMicros(0.99), stalls), 10, 38);
+            g2.dispose();
+        }
+    }
+}
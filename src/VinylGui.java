@@ -1,4 +1,3 @@
-import javax.imageio.ImageIO;
 import javax.swing.AbstractCellEditor;
 import javax.swing.*;
 import javax.swing.Timer;
@@ -16,9 +15,9 @@ import java.awt.image.BufferedImage;
 import java.awt.image.ConvolveOp;
 import java.awt.image.Kernel;
 import java.io.*;
-import java.net.URL;
 import java.util.*;
 import java.util.List;
+import java.util.function.IntFunction;
 
 // Swing frame using Vinyl (domain) and VinylUiKit (UI widgets).
 public class VinylGui extends JFrame {
@@ -27,6 +26,7 @@ public class VinylGui extends JFrame {
     public static void launch() {
         SwingUtilities.invokeLater(() -> {
             VinylUiKit.setSystemDefaults();
+            VinylDiagnostics.install(); // no-op unless -Dvinyl.diagnostics=true
 
             // 1) Show a small splash window right away
             JWindow splash = createSplashWindow();
@@ -116,10 +116,18 @@ public class VinylGui extends JFrame {
 
     private final JTable table;
     private final Vinyl.SongTableModel model;
-    private final TableRowSorter<Vinyl.SongTableModel> sorter;
+    private final TableRowSorter<Vinyl.SongTableModel> sorter; // null in virtual mode
+    private final VinylCatalog.PagedTableModel paged;          // non-null in virtual mode
+    private final boolean readOnly;                           // a virtual catalog that isn't songs.xml
+    private final VinylSearch.FilterEngine filterEngine;       // null in virtual mode
+    private final VinylSearch.Suggester suggester;             // null when readOnly
+    private final VinylSearch.SimilarIndex similarIndex;       // null when readOnly
     private JTextField searchField;
     private final ColumnManager columnManager;
+    private JPanel viewCards;                 // "list" (table) or "grid" (cover tiles)
+    private VinylUiKit.CoverGrid coverGrid;
     private boolean autoHideZero = false; // auto-hide rows with count==0
+    private volatile boolean prewarming = false;
 
     // Toast notification components
     private JPanel toastPanel;
@@ -163,8 +171,22 @@ public class VinylGui extends JFrame {
             }
         });
 
+        // Virtual mode (-Dvinyl.virtual=true): the table pages rows from a catalog backend and
+        // filters/sorts there. -Dvinyl.virtual.synthetic=N browses a generated N-song catalog.
+        String synthetic = System.getProperty("vinyl.virtual.synthetic");
+        if (Boolean.getBoolean("vinyl.virtual") || synthetic != null) {
+            paged = new VinylCatalog.PagedTableModel(synthetic != null
+                    ? new VinylCatalog.SyntheticBackend(Integer.parseInt(synthetic.trim()))
+                    : new VinylCatalog.TableBackend(model));
+        } else {
+            paged = null;
+        }
+        // The synthetic catalog is not the songs.xml model: edits, suggestions and "similar"
+        // would act on songs that aren't shown, so those features are off for it.
+        readOnly = paged != null && !paged.backend().editable();
+
         // Column-banded table so each column reads as a single connected block
-        table = new VinylUiKit.ColumnBandTable(model);
+        table = new VinylUiKit.ColumnBandTable(paged != null ? paged : model);
         table.setRowHeight(56);
 
         table.setIntercellSpacing(new Dimension(0, 0));
@@ -183,8 +205,16 @@ public class VinylGui extends JFrame {
         header.setOpaque(true);
         header.setDefaultRenderer(new VinylUiKit.HeaderRenderer());
 
-        sorter = new TableRowSorter<>(model);
-        table.setRowSorter(sorter);
+        if (paged != null) {
+            sorter = null;
+            table.setRowSorter(new VinylCatalog.PagedRowSorter(paged));
+        } else {
+            sorter = new VinylCatalog.SongRowSorter(model);
+            table.setRowSorter(sorter);
+        }
+        filterEngine = paged == null ? new VinylSearch.FilterEngine(model) : null; // the backend filters otherwise
+        suggester = readOnly ? null : new VinylSearch.Suggester(model);
+        similarIndex = readOnly ? null : new VinylSearch.SimilarIndex(model);
 
         setColumnWidths();
         // Hide header text for Cover (index 1) and Explicit (index 8) and actions
@@ -214,7 +244,7 @@ public class VinylGui extends JFrame {
         table.getColumnModel().getColumn(9).setCellRenderer(new VinylUiKit.RatingRenderer());
         table.getColumnModel().getColumn(9).setCellEditor(new VinylUiKit.RatingEditor());
         // Price (10) and Count (11) use default renderers
-        table.getColumnModel().getColumn(10).setCellRenderer(new PriceRenderer());
+        table.getColumnModel().getColumn(10).setCellRenderer(new PriceRenderer(this::songAtView));
         table.getColumnModel().getColumn(11).setCellRenderer(new CountRenderer());
         table.getColumnModel().getColumn(12).setCellRenderer(new ActionsRenderer());
         table.getColumnModel().getColumn(12).setCellEditor(new ActionsEditor());
@@ -244,8 +274,17 @@ public class VinylGui extends JFrame {
                 bandHoverRow = viewRow;
                 table.putClientProperty("hoverRow", bandHoverRow);
 
+                // repaint just the rows whose hover state changed, not the whole table
                 if (prevActionsRow != hoveredActionsRow || prevBandRow != bandHoverRow) {
-                    table.repaint();
+                    Rectangle dirty = null;
+                    for (int r : new int[]{prevBandRow, bandHoverRow, prevActionsRow, hoveredActionsRow}) {
+                        if (r < 0 || r >= table.getRowCount()) continue;
+                        Rectangle rowRect = table.getCellRect(r, 0, true);
+                        rowRect.x = 0;
+                        rowRect.width = table.getWidth();
+                        dirty = dirty == null ? rowRect : dirty.union(rowRect);
+                    }
+                    if (dirty != null) table.repaint(dirty);
                 }
             }
         });
@@ -255,17 +294,20 @@ public class VinylGui extends JFrame {
                 if (e.getClickCount() == 2) {
                     int viewRow = table.rowAtPoint(e.getPoint());
                     if (viewRow >= 0) {
-                        int modelRow = table.convertRowIndexToModel(viewRow);
-                        Vinyl.Song s = model.getSong(modelRow);
-                        openPropertiesDialog(s, false);
+                        openPropertiesDialog(songAtView(viewRow), false);
                     }
                 }
             }
         });
 
 
-        JScrollPane scroll = new VinylUiKit.RoundedScrollPane(table, 16);
+        VinylUiKit.RoundedScrollPane scroll = new VinylUiKit.RoundedScrollPane(table, 16);
         scroll.setBorder(BorderFactory.createEmptyBorder());
+        // Fast-scroll mode (-Dvinyl.fastScroll=true): opaque table body so the viewport can blit
+        if (Boolean.getBoolean("vinyl.fastScroll")) {
+            table.setOpaque(true);
+            scroll.setFastScroll(BG);
+        }
         // Ensure the column header viewport is transparent
         if (scroll.getColumnHeader() != null) {
             scroll.getColumnHeader().setOpaque(false);
@@ -276,14 +318,18 @@ public class VinylGui extends JFrame {
         scroll.getVerticalScrollBar().setOpaque(false);
         scroll.getHorizontalScrollBar().setOpaque(false);
         // Make both top corners transparent
-
+        installCoverPrefetch(scroll);
 
         JPanel top = buildTopBar();
         JPanel root = new JPanel(new BorderLayout());
         root.setBackground(BG);
         root.setBorder(new EmptyBorder(12, 12, 12, 12));
         root.add(top, BorderLayout.NORTH);
-        root.add(scroll, BorderLayout.CENTER);
+        viewCards = new JPanel(new CardLayout());
+        viewCards.setOpaque(false);
+        viewCards.add(scroll, "list");
+        viewCards.add(buildCoverGrid(), "grid");
+        root.add(viewCards, BorderLayout.CENTER);
 
         JMenuBar bar = buildMenuBar();
         bar.add(buildViewMenu());
@@ -294,6 +340,8 @@ public class VinylGui extends JFrame {
 
         // Initialize toast overlay
         initToast();
+        // Optional: resolve every cover in the background right after loading (-Dvinyl.prewarmCovers=true)
+        if (Boolean.getBoolean("vinyl.prewarmCovers")) prewarmCovers();
     }
 
     public class TranslucentPopup extends JPopupMenu {
@@ -363,8 +411,9 @@ public class VinylGui extends JFrame {
         int x = (width - 320) / 2;
         toastTargetY = 16;
         toastPanel.setBounds(x, -height, 320, height);
-        lp.add(toastPanel, JLayeredPane.POPUP_LAYER);
         toastPanel.setVisible(false);
+        // added to the layered pane only while showing: any popup-layer child turns off
+        // optimized drawing for the whole window, and with it viewport blitting
     }
 
     // Show a sliding toast at the top of the main window
@@ -383,6 +432,7 @@ public class VinylGui extends JFrame {
             toastTimer.stop();
         }
 
+        if (toastPanel.getParent() == null) lp.add(toastPanel, JLayeredPane.POPUP_LAYER);
         toastPanel.setVisible(true);
         toastState = 1; // start sliding down
 
@@ -412,6 +462,7 @@ public class VinylGui extends JFrame {
                         toastPanel.setVisible(false);
                         toastTimer.stop();
                         toastState = 0;
+                        lp.remove(toastPanel);
                     }
                     toastPanel.setLocation(toastPanel.getX(), newY);
                 }
@@ -531,9 +582,7 @@ public class VinylGui extends JFrame {
             return switch (columnIndex) {
                 case 0 -> entry.getTimestampText();
                 case 1 -> entry.getSongTitle();
-                case 2 -> entry.getTotalPrice() == 0.0
-                        ? ""
-                        : String.format("%.2f", entry.getTotalPrice());
+                case 2 -> entry.getTotalText();
                 case 3 -> entry.getMessage();
                 default -> "";
             };
@@ -595,6 +644,80 @@ public class VinylGui extends JFrame {
         dlg.setVisible(true);
     }
 
+    // Show the songs nearest to s by bpm, length, genre and artist; double-click opens one
+    private void showSimilarDialog(Vinyl.Song s) {
+        List<Vinyl.Song> found = similarIndex.nearest(s, 10);
+        if (found.isEmpty()) {
+            showToast("No similar songs");
+            return;
+        }
+
+        JDialog dlg = new JDialog(this, "Similar to " + s.title, true);
+        dlg.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        dlg.setLayout(new BorderLayout());
+        dlg.getContentPane().setBackground(BG);
+
+        String[] columns = {"Title", "Artist", "Genre", "BPM", "Length"};
+        JTable similarTable = new JTable(new AbstractTableModel() {
+            @Override public int getRowCount() { return found.size(); }
+            @Override public int getColumnCount() { return columns.length; }
+            @Override public String getColumnName(int column) { return columns[column]; }
+            @Override public boolean isCellEditable(int rowIndex, int columnIndex) { return false; }
+            @Override public Object getValueAt(int rowIndex, int columnIndex) {
+                Vinyl.Song x = found.get(rowIndex);
+                return switch (columnIndex) {
+                    case 0 -> x.title;
+                    case 1 -> x.artist;
+                    case 2 -> x.genre;
+                    case 3 -> x.bpm;
+                    case 4 -> x.durationText();
+                    default -> "";
+                };
+            }
+        });
+        similarTable.setFillsViewportHeight(true);
+        similarTable.setBackground(BG);
+        similarTable.setForeground(FG);
+        similarTable.setGridColor(new Color(60, 60, 60));
+        similarTable.setRowHeight(24);
+        similarTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = similarTable.rowAtPoint(e.getPoint());
+                if (e.getClickCount() == 2 && row >= 0) {
+                    dlg.dispose();
+                    openPropertiesDialog(found.get(row), false);
+                }
+            }
+        });
+
+        JTableHeader header = similarTable.getTableHeader();
+        header.setBackground(BG);
+        header.setForeground(FG);
+        header.setReorderingAllowed(false);
+        header.setDefaultRenderer(new LogHeaderRenderer());
+
+        JScrollPane scrollPane = new VinylUiKit.RoundedScrollPane(similarTable, 12);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder());
+        scrollPane.getViewport().setBackground(BG);
+        scrollPane.getVerticalScrollBar().setUI(new VinylUiKit.MinimalScrollBarUI());
+        scrollPane.getHorizontalScrollBar().setUI(new VinylUiKit.MinimalScrollBarUI());
+        scrollPane.getVerticalScrollBar().setOpaque(false);
+        scrollPane.getHorizontalScrollBar().setOpaque(false);
+        dlg.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel bottom = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        bottom.setBackground(BG);
+        JButton closeBtn = VinylUiKit.grayButton("Close");
+        closeBtn.addActionListener(e -> dlg.dispose());
+        bottom.add(closeBtn);
+        dlg.add(bottom, BorderLayout.SOUTH);
+
+        dlg.setSize(700, 360);
+        dlg.setLocationRelativeTo(this);
+        dlg.setVisible(true);
+    }
+
     // Export the activity log to a user-chosen file (CSV-style text)
     private void exportLogsToFile() {
         if (LogEntry.activityLog.isEmpty()) {
@@ -614,9 +737,7 @@ public class VinylGui extends JFrame {
             for (LogEntry entry : LogEntry.activityLog) {
                 String time = entry.getTimestampText();
                 String song = escapeCsvForExport(entry.getSongTitle());
-                String total = entry.getTotalPrice() == 0.0
-                        ? ""
-                        : String.format("%.2f", entry.getTotalPrice());
+                String total = entry.getTotalText();
                 String msg = escapeCsvForExport(entry.getMessage());
                 out.printf("%s,%s,%s,%s%n", time, song, total, msg);
             }
@@ -649,6 +770,23 @@ public class VinylGui extends JFrame {
             item.addActionListener(e -> columnManager.setVisible(modelIndex, item.isSelected()));
             view.add(item);
         }
+        view.addSeparator();
+        JCheckBoxMenuItem grid = new JCheckBoxMenuItem("Cover grid", false);
+        grid.addActionListener(e -> ((CardLayout) viewCards.getLayout()).show(viewCards, grid.isSelected() ? "grid" : "list"));
+        view.add(grid);
+        JMenuItem warm = new JMenuItem("Pre-warm cover cache");
+        warm.addActionListener(e -> prewarmCovers());
+        view.add(warm);
+        if (VinylDiagnostics.ENABLED) {
+            view.addSeparator();
+            VinylDiagnostics.FrameOverlay overlay = new VinylDiagnostics.FrameOverlay(getLayeredPane());
+            JCheckBoxMenuItem frames = new JCheckBoxMenuItem("Frame time overlay", false);
+            frames.addActionListener(e -> overlay.setShown(frames.isSelected()));
+            view.add(frames);
+            JMenuItem report = new JMenuItem("Print diagnostics report");
+            report.addActionListener(e -> System.err.print(VinylDiagnostics.report()));
+            view.add(report);
+        }
         // Style the View menu popup
         return view;
     }
@@ -706,6 +844,7 @@ public class VinylGui extends JFrame {
 
         JButton addBtn = VinylUiKit.redButton("Add");
         addBtn.addActionListener(e -> openPropertiesDialog(new Vinyl.Song(), true));
+        addBtn.setEnabled(!readOnly);
 
         JPanel left = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 6));
         left.setBackground(BG);
@@ -728,6 +867,8 @@ public class VinylGui extends JFrame {
             }
         });
 
+        if (suggester != null) VinylUiKit.SuggestionPopup.attach(searchField, text -> suggester.suggest(text, 8));
+
         JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 6));
         right.setBackground(BG);
         right.add(searchField);
@@ -738,40 +879,114 @@ public class VinylGui extends JFrame {
         return top;
     }
 
-    private void applyFilter() {
-        String q = searchField.getText();
-        List<RowFilter<Vinyl.SongTableModel, Integer>> filters = new ArrayList<>();
+    // Cover tiles for the table's current rows (same filter and sort), sharing its cover cache
+    private JScrollPane buildCoverGrid() {
+        coverGrid = new VinylUiKit.CoverGrid(new VinylUiKit.CoverGrid.Source() {
+            @Override public int size() { return table.getRowCount(); }
+            @Override public Vinyl.Song songAt(int index) { return songAtView(index); }
+        });
+        coverGrid.setFont(table.getFont());
+        coverGrid.setOnOpen(i -> openPropertiesDialog(songAtView(i), false));
+        table.getModel().addTableModelListener(e -> { if (Vinyl.SongTableModel.changesData(e)) coverGrid.refresh(); });
+        table.getRowSorter().addRowSorterListener(e -> coverGrid.refresh());
 
-        if (q != null && !q.trim().isEmpty()) {
-            String s = q.trim().toLowerCase();
-            filters.add(new RowFilter<Vinyl.SongTableModel, Integer>() {
-                @Override
-                public boolean include(Entry<? extends Vinyl.SongTableModel, ? extends Integer> entry) {
-                    Vinyl.Song song = model.getSong(entry.getIdentifier());
-                    return song.matches(s);
-                }
-            });
-        }
+        JScrollPane scroll = new VinylUiKit.RoundedScrollPane(coverGrid, 16);
+        scroll.setBorder(BorderFactory.createEmptyBorder());
+        scroll.getVerticalScrollBar().setUI(new VinylUiKit.MinimalScrollBarUI());
+        scroll.getVerticalScrollBar().setOpaque(false);
+        scroll.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        return scroll;
+    }
+
+    // Song shown in a table row, in either the sorted or the virtual view
+    private Vinyl.Song songAtView(int viewRow) {
+        if (paged != null) return paged.songAt(viewRow);
+        return model.getSong(table.convertRowIndexToModel(viewRow));
+    }
 
-        if (autoHideZero) {
-            filters.add(new RowFilter<Vinyl.SongTableModel, Integer>() {
+    private void applyFilter() {
+        VinylSearch.Query q = new VinylSearch.Query(searchField.getText(), autoHideZero);
+        if (paged != null) {
+            paged.setQuery(q); // the backend filters
+            return;
+        }
+        filterEngine.setQuery(q);
+        if (q.isEmpty()) {
+            sorter.setRowFilter(null);
+        } else {
+            sorter.setRowFilter(new RowFilter<Vinyl.SongTableModel, Integer>() {
                 @Override
                 public boolean include(Entry<? extends Vinyl.SongTableModel, ? extends Integer> entry) {
-                    Vinyl.Song song = model.getSong(entry.getIdentifier());
-                    return song.count > 0;
+                    return filterEngine.include(entry.getIdentifier());
                 }
             });
         }
+    }
 
-        if (filters.isEmpty()) {
-            sorter.setRowFilter(null);
-        } else if (filters.size() == 1) {
-            sorter.setRowFilter(filters.get(0));
-        } else {
-            sorter.setRowFilter(RowFilter.andFilter(filters));
-        }
+    // Fetch every distinct cover into the memory/disk caches on a background thread.
+    // Progress and throughput go to the title bar; covers already on screen repaint as they land.
+    private void prewarmCovers() {
+        if (prewarming) return;
+        prewarming = true;
+        List<String> paths = new ArrayList<>();
+        for (Vinyl.Song s : model.getAll()) paths.add(s.coverPath);
+        String title = getTitle();
+        VinylCovers.Prewarmer warmer = new VinylCovers.Prewarmer(8, VinylCovers.memory(), VinylCovers.disk());
+        Thread t = new Thread(() -> {
+            try {
+                VinylCovers.Prewarmer.Stats done = warmer.run(paths, Vinyl.SongTableModel.COVER_SIZE,
+                        st -> SwingUtilities.invokeLater(() -> {
+                            setTitle(title + " \u2014 warming covers " + st.done() + "/" + st.total()
+                                    + String.format(" (%.0f/s)", st.perSecond()));
+                            table.repaint();
+                        }));
+                SwingUtilities.invokeLater(() -> {
+                    setTitle(title);
+                    showToast("Covers ready: " + done.loaded() + " fetched, " + done.failed() + " failed");
+                });
+            } catch (InterruptedException ignored) {
+                SwingUtilities.invokeLater(() -> setTitle(title));
+            } finally {
+                prewarming = false;
+            }
+        }, "cover-prewarm");
+        t.setDaemon(true);
+        t.start();
     }
 
+    // Keep cover loading focused on what the user is looking at: after scrolling settles,
+    // warm covers one screen above and below the viewport and drop queued loads for rows
+    // that have scrolled further away, so a fast flick does not leave a backlog of stale fetches.
+    private void installCoverPrefetch(JScrollPane scroll) {
+        Timer settle = new Timer(50, e -> prefetchAroundViewport(scroll.getViewport()));
+        settle.setRepeats(false);
+        scroll.getViewport().addChangeListener(e -> settle.restart());
+        table.getModel().addTableModelListener(e -> { if (Vinyl.SongTableModel.changesData(e)) settle.restart(); });
+    }
+
+    private void prefetchAroundViewport(JViewport viewport) {
+        if (table.convertColumnIndexToView(Vinyl.SongTableModel.COVER_COLUMN) < 0) return; // covers hidden
+        int viewRows = table.getRowCount();
+        if (viewRows == 0) return;
+        Rectangle r = viewport.getViewRect();
+        int first = table.rowAtPoint(new Point(0, r.y));
+        int last = table.rowAtPoint(new Point(0, r.y + r.height - 1));
+        if (first < 0) first = 0;
+        if (last < 0) last = viewRows - 1;
+        int margin = last - first + 1; // one screen each way
+
+        Map<Object, Integer> distance = new IdentityHashMap<>();
+        for (int v = Math.max(0, first - margin); v <= Math.min(viewRows - 1, last + margin); v++) {
+            int d = v < first ? first - v : v > last ? v - last : 0;
+            distance.put(songAtView(v), d);
+            if (d <= 0) continue;
+            if (paged != null) paged.prefetchCover(v, d);
+            else model.prefetchCover(table.convertRowIndexToModel(v), d);
+        }
+        // only table rows are ranked; other requesters (preview, grid) keep their place
+        VinylCovers.loader().reprioritize((owner, path) ->
+                owner instanceof Vinyl.Song ? distance.getOrDefault(owner, -1) : VinylCovers.Loader.KEEP);
+    }
 
     private void setColumnWidths() {
         TableColumnModel cols = table.getColumnModel();
@@ -848,6 +1063,11 @@ public class VinylGui extends JFrame {
     }
 
     private void openPropertiesDialog(Vinyl.Song song, boolean isNew) {
+        if (song == null) return;
+        if (readOnly) {
+            showToast("This catalog is read-only");
+            return;
+        }
         PropertiesDialog dlg = new PropertiesDialog(this, song, isNew);
         dlg.setVisible(true);
         if (dlg.saved) {
@@ -926,9 +1146,8 @@ public class VinylGui extends JFrame {
             holder.add(menuBtn, new GridBagConstraints());
             menuBtn.addActionListener(e -> {
                 if (editingRow < 0) return;
-                int modelRow = table.convertRowIndexToModel(editingRow);
-                Vinyl.Song s = model.getSong(modelRow);
-                JPopupMenu popup = buildActionsPopup(s, modelRow);
+                Vinyl.Song s = songAtView(editingRow);
+                JPopupMenu popup = buildActionsPopup(s, model.indexOf(s));
                 popup.show(menuBtn, 0, menuBtn.getHeight());
             });
         }
@@ -937,9 +1156,8 @@ public class VinylGui extends JFrame {
             editingRow = row;
             SwingUtilities.invokeLater(() -> {
                 if (editingRow == row) {
-                    int modelRow = table.convertRowIndexToModel(editingRow);
-                    Vinyl.Song s = model.getSong(modelRow);
-                    JPopupMenu popup = buildActionsPopup(s, modelRow);
+                    Vinyl.Song s = songAtView(editingRow);
+                    JPopupMenu popup = buildActionsPopup(s, model.indexOf(s));
                     //popup.setLightWeightPopupEnabled(true);
                     popup.show(menuBtn, 0, menuBtn.getHeight());
                 }
@@ -953,33 +1171,44 @@ public class VinylGui extends JFrame {
     }
 
     // Transparent, right-aligned price renderer with two decimals
-    static final class PriceRenderer extends DefaultTableCellRenderer {
-        @Override
-        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+    static final class PriceRenderer extends VinylUiKit.TimedCellRenderer {
+        // the text comes from the row's song, which keeps its formatted price between repaints
+        private final IntFunction<Vinyl.Song> songAtView;
+
+        PriceRenderer(IntFunction<Vinyl.Song> songAtView) {
+            this.songAtView = songAtView;
             setOpaque(false);
             setForeground(FG);
             setHorizontalAlignment(SwingConstants.RIGHT);
-            if (value instanceof Number) {
-                setText(String.format("%.2f", ((Number) value).doubleValue()));
+            setBorder(VinylUiKit.CELL_PADDING);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+            setFont(table.getFont());
+            Vinyl.Song s = value instanceof Number ? songAtView.apply(row) : null;
+            if (s != null) {
+                setText(s.priceText());
             } else {
                 setText("");
             }
-            setBorder(new EmptyBorder(8, 12, 8, 12));
             return this;
         }
     }
 
     // Transparent, centered count renderer
-    static final class CountRenderer extends DefaultTableCellRenderer {
-        @Override
-        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+    static final class CountRenderer extends VinylUiKit.TimedCellRenderer {
+        CountRenderer() {
             setOpaque(false);
             setForeground(FG);
             setHorizontalAlignment(SwingConstants.CENTER);
+            setBorder(VinylUiKit.CELL_PADDING);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+            setFont(table.getFont());
             setText(value == null ? "" : value.toString());
-            setBorder(new EmptyBorder(8, 12, 8, 12));
             return this;
         }
     }
@@ -998,6 +1227,14 @@ public class VinylGui extends JFrame {
             openPropertiesDialog(s, false);
         });
 
+        JMenuItem similar = new JMenuItem("Find similar");
+        similar.addActionListener(e -> {
+            if (table.isEditing() && table.getCellEditor() != null) {
+                table.getCellEditor().stopCellEditing();
+            }
+            showSimilarDialog(s);
+        });
+
         JMenuItem addInv = new JMenuItem("Add Inventory");
         addInv.addActionListener(e -> {
             if (table.isEditing() && table.getCellEditor() != null) {
@@ -1067,8 +1304,16 @@ public class VinylGui extends JFrame {
 
         });
 
+        // the song may not be in the model (read-only virtual catalog): nothing to edit then
+        boolean editable = !readOnly && modelRow >= 0;
+        props.setEnabled(editable);
+        addInv.setEnabled(editable);
+        sell.setEnabled(editable);
+        delete.setEnabled(editable);
+
         // add after creation
         popup.add(props);
+        if (similarIndex != null) popup.add(similar);
         popup.addSeparator();
         popup.add(addInv);
         popup.add(sell);
@@ -1603,58 +1848,38 @@ public class VinylGui extends JFrame {
             if (fc.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
                 File f = fc.getSelectedFile();
                 selectedCoverPath = f.getAbsolutePath();
+                VinylCovers.forgetBroken(selectedCoverPath);
                 updateCoverPreview();
             }
         }
 
 
 
+        // Progressive preview: the full-size cover if it is cached (e.g. on reopen), otherwise the
+        // table thumbnail upscaled right away, swapped for the full image once it loads off the EDT.
         private void updateCoverPreview() {
             final int PREVIEW_SIZE = 300;
-            ImageIcon icon = null;
-
-            // 1) Try to load from selectedCoverPath (URL or file), in high resolution
-            if (selectedCoverPath != null && !selectedCoverPath.isEmpty()) {
-                try {
-                    if (selectedCoverPath.startsWith("http://") || selectedCoverPath.startsWith("https://")) {
-                        // Apple Music-style URLs: swap trailing "/WxHbb.jpg" for "/600x600bb.jpg"
-                        String urlString = selectedCoverPath;
-                        int lastSlash = urlString.lastIndexOf('/');
-                        if (lastSlash != -1 && urlString.substring(lastSlash).matches("/\\d+x\\d+bb\\.jpg")) {
-                            urlString = urlString.substring(0, lastSlash) + "/300x300bb.jpg";
-                        }
-
-                        URL url = new URL(urlString);
-                        BufferedImage img = ImageIO.read(url);
-                        if (img != null) {
-                            Image scaled = img.getScaledInstance(PREVIEW_SIZE, PREVIEW_SIZE, Image.SCALE_SMOOTH);
-                            icon = new ImageIcon(scaled);
-                        }
-                    } else {
-                        // Local file path
-                        File f = new File(selectedCoverPath);
-                        BufferedImage img = ImageIO.read(f);
-                        if (img != null) {
-                            Image scaled = img.getScaledInstance(PREVIEW_SIZE, PREVIEW_SIZE, Image.SCALE_SMOOTH);
-                            icon = new ImageIcon(scaled);
-                        }
-                    }
-                } catch (Exception ex) {
-                    // ignore and fall through to other options
-                }
+            String path = selectedCoverPath;
+            if (path == null || path.isEmpty()) {
+                coverPreview.setIcon(Vinyl.Song.placeholderIcon(PREVIEW_SIZE, PREVIEW_SIZE));
+                return;
             }
 
-            if (icon == null && song.coverIcon != null) {
-                Image img = song.coverIcon.getImage();
-                Image scaled = img.getScaledInstance(PREVIEW_SIZE, PREVIEW_SIZE, Image.SCALE_SMOOTH);
-                icon = new ImageIcon(scaled);
+            ImageIcon full = VinylCovers.cached(path, PREVIEW_SIZE);
+            if (full != null) {
+                coverPreview.setIcon(full);
+                return;
             }
 
-            if (icon == null) {
-                icon = Vinyl.Song.placeholderIcon(PREVIEW_SIZE, PREVIEW_SIZE);
-            }
+            ImageIcon thumb = VinylCovers.cached(path, Vinyl.SongTableModel.COVER_SIZE);
+            coverPreview.setIcon(thumb != null
+                    ? new ImageIcon(VinylCovers.scale(thumb.getImage(), PREVIEW_SIZE))
+                    : Vinyl.Song.placeholderIcon(PREVIEW_SIZE, PREVIEW_SIZE));
 
-            coverPreview.setIcon(icon);
+            VinylCovers.loader().request(path, PREVIEW_SIZE, this, loaded -> {
+                // ignore late arrivals after the user picked different artwork
+                if (loaded != null && path.equals(selectedCoverPath)) coverPreview.setIcon(loaded);
+            });
         }
 
         private boolean applyChanges() {
@@ -1672,7 +1897,6 @@ public class VinylGui extends JFrame {
                 song.explicit = explicitBox.isSelected();
                 song.rating = ratingBar.getValue();
                 song.coverPath = selectedCoverPath;
-                song.coverIcon = null;
                 // Persist price and count (stored as double and int)
                 String priceTxt = priceField.getText().trim();
                 song.price = priceTxt.isEmpty() ? 0.0 : Double.parseDouble(priceTxt);
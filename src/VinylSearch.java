@@ -0,0 +1,568 @@
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+// Search helpers shared by the GUI and CLI.
+// Query parsing, an incremental filter engine, a result cache, a parallel scan engine,
+// autocomplete and the similar-songs index.
+public final class VinylSearch {
+    private VinylSearch() {}
+
+    // ---------- Query ----------
+    // A search as typed by the user: free text plus the "in stock only" clause.
+    public static final class Query {
+        final String text;        // trimmed, lower-cased needle ("" = no text clause)
+        final boolean inStockOnly;
+
+        public Query(String raw, boolean inStockOnly) {
+            this.text = raw == null ? "" : raw.trim().toLowerCase();
+            this.inStockOnly = inStockOnly;
+        }
+
+        // true when no clause is active and every song matches
+        public boolean isEmpty() { return text.isEmpty() && !inStockOnly; }
+
+        public boolean test(Vinyl.Song s) {
+            if (inStockOnly && s.count <= 0) return false;
+            return text.isEmpty() || s.matches(text);
+        }
+
+        // Song.matches is a substring test, so a needle that contains the previous needle
+        // (and keeps every previous clause) can only match a subset of the previous rows.
+        boolean refines(Query prev) {
+            return text.contains(prev.text) && (inStockOnly || !prev.inStockOnly);
+        }
+
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof Query)) return false;
+            Query q = (Query) o;
+            return inStockOnly == q.inStockOnly && text.equals(q.text);
+        }
+        @Override public int hashCode() { return text.hashCode() * 31 + (inStockOnly ? 1 : 0); }
+        @Override public String toString() { return (inStockOnly ? "[instock] " : "") + text; }
+    }
+
+    // ---------- Filter engine ----------
+    // Evaluates queries against the model and remembers the last few result sets.
+    // Typing one more character re-tests only the previous matches; backspacing
+    // returns a remembered result without testing anything.
+    public static final class FilterEngine {
+        private static final int MAX_HISTORY = 8;
+
+        private static final class Result {
+            final Query query;
+            final BitSet rows;
+            Result(Query query, BitSet rows) { this.query = query; this.rows = rows; }
+        }
+
+        private final Vinyl.SongTableModel model;
+        private final QueryCache cache;
+        private final Deque<Result> history = new ArrayDeque<>(); // most recent first
+        private long version = -1;
+        private Query query = new Query("", false);
+        private BitSet current;
+
+        public FilterEngine(Vinyl.SongTableModel model) {
+            this(model, new QueryCache(model, QueryCache.DEFAULT_CAPACITY));
+        }
+
+        public FilterEngine(Vinyl.SongTableModel model, QueryCache cache) {
+            this.model = model;
+            this.cache = cache;
+        }
+
+        public Query getQuery() { return query; }
+
+        public void setQuery(Query q) {
+            query = q;
+            current = null;
+        }
+
+        // Matching model rows for the current query
+        public BitSet matches() {
+            if (model.getVersion() != version) {
+                // rows were added, removed or edited: remembered results are stale
+                history.clear();
+                version = model.getVersion();
+                current = null;
+            }
+            if (current == null) current = evaluate(query);
+            return current;
+        }
+
+        // RowFilter hook: is this model row part of the current result?
+        public boolean include(int modelRow) {
+            return matches().get(modelRow);
+        }
+
+        private BitSet evaluate(Query q) {
+            BitSet cached = cache.get(q);
+            if (cached != null) {
+                remember(q, cached);
+                return cached;
+            }
+
+            Result base = null;
+            for (Iterator<Result> it = history.iterator(); it.hasNext(); ) {
+                Result r = it.next();
+                if (r.query.equals(q)) {
+                    // seen it recently (e.g. backspace): move to the front and reuse
+                    it.remove();
+                    history.addFirst(r);
+                    return r.rows;
+                }
+                if (q.refines(r.query) && (base == null || r.rows.cardinality() < base.rows.cardinality())) {
+                    base = r;
+                }
+            }
+
+            List<Vinyl.Song> rows = model.rows();
+            BitSet out = base != null
+                    ? ScanEngine.shared().scan(rows, base.rows, q::test)
+                    : ScanEngine.shared().scan(rows, q::test);
+
+            cache.put(q, out);
+            remember(q, out);
+            return out;
+        }
+
+        // one entry per query, so cache hits cannot crowd the refinement bases out of history
+        private void remember(Query q, BitSet rows) {
+            history.removeIf(r -> r.query.equals(q));
+            history.addFirst(new Result(q, rows));
+            while (history.size() > MAX_HISTORY) history.removeLast();
+        }
+    }
+
+    // ---------- Query result cache ----------
+    // LRU of query -> matching model rows, each tagged with the model version it is valid for.
+    // Row inserts, deletes and edits patch the cached sets in place (re-testing only the
+    // touched rows), so repeated searches at the counter return without any evaluation.
+    public static final class QueryCache {
+        static final int DEFAULT_CAPACITY = 32;
+
+        private static final class Entry {
+            final BitSet rows;
+            long version;
+            Entry(BitSet rows, long version) { this.rows = rows; this.version = version; }
+        }
+
+        private final Vinyl.SongTableModel model;
+        private final Map<Query, Entry> entries;
+
+        public QueryCache(Vinyl.SongTableModel model, int capacity) {
+            this.model = model;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override protected boolean removeEldestEntry(Map.Entry<Query, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+            model.addTableModelListener(this::patch);
+        }
+
+        // Rows matching q at the current model version, or null on a miss
+        public BitSet get(Query q) {
+            Entry e = entries.get(q);
+            if (e == null) return null;
+            if (e.version != model.getVersion()) {
+                entries.remove(q); // missed a change we could not patch
+                return null;
+            }
+            return e.rows;
+        }
+
+        public void put(Query q, BitSet rows) {
+            entries.put(q, new Entry(rows, model.getVersion()));
+        }
+
+        public void clear() { entries.clear(); }
+
+        private void patch(TableModelEvent e) {
+            if (entries.isEmpty() || !Vinyl.SongTableModel.changesData(e)) return;
+            int first = e.getFirstRow(), last = e.getLastRow();
+            if (first == TableModelEvent.HEADER_ROW || last == Integer.MAX_VALUE || first < 0) {
+                // whole table replaced (load/import) or structure changed
+                entries.clear();
+                return;
+            }
+            List<Vinyl.Song> rows = model.rows();
+            int n = last - first + 1;
+            for (Iterator<Map.Entry<Query, Entry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<Query, Entry> me = it.next();
+                Entry en = me.getValue();
+                if (en.version != model.getVersion() - 1) {
+                    it.remove(); // already stale before this event
+                    continue;
+                }
+                BitSet bits = en.rows;
+                switch (e.getType()) {
+                    case TableModelEvent.INSERT -> {
+                        shift(bits, first, n);
+                        retest(me.getKey(), bits, rows, first, last);
+                    }
+                    case TableModelEvent.DELETE -> shift(bits, last + 1, -n);
+                    default -> retest(me.getKey(), bits, rows, first, last);
+                }
+                en.version = model.getVersion();
+            }
+        }
+
+        private static void retest(Query q, BitSet bits, List<Vinyl.Song> rows, int first, int last) {
+            for (int i = first; i <= last && i < rows.size(); i++) bits.set(i, q.test(rows.get(i)));
+        }
+
+        // move every bit at or after 'from' by delta positions (negative = towards 0)
+        private static void shift(BitSet bits, int from, int delta) {
+            BitSet tail = bits.get(from, Math.max(from, bits.length()));
+            bits.clear(Math.max(0, from + Math.min(0, delta)), Math.max(from, bits.length()));
+            for (int j = tail.nextSetBit(0); j >= 0; j = tail.nextSetBit(j + 1)) bits.set(from + delta + j);
+        }
+    }
+
+    // ---------- Scan engine ----------
+    // Catalog-wide predicate scan for filters no index covers. Large catalogs are split
+    // into 64-row aligned chunks evaluated on a ForkJoinPool; each chunk writes only its own
+    // words of the result, so merging is free. Small catalogs scan sequentially.
+    public static final class ScanEngine {
+        static final int CHUNK = 4096;                 // rows per leaf task, multiple of 64
+        static final int PARALLEL_THRESHOLD = 20_000;  // below this, fork/join costs more than it saves
+
+        private static final ScanEngine SHARED = new ScanEngine(ForkJoinPool.commonPool());
+
+        private final ForkJoinPool pool;
+
+        public ScanEngine(ForkJoinPool pool) {
+            this.pool = pool;
+        }
+
+        public static ScanEngine shared() { return SHARED; }
+
+        public int parallelism() { return pool.getParallelism(); }
+
+        // Model rows (indexes into rows) whose song satisfies p
+        public BitSet scan(List<Vinyl.Song> rows, Predicate<Vinyl.Song> p) {
+            return scan(rows, null, p);
+        }
+
+        // Same, but only rows already set in candidates are tested (null = all rows)
+        public BitSet scan(List<Vinyl.Song> rows, BitSet candidates, Predicate<Vinyl.Song> p) {
+            int n = rows.size();
+            long[] words = new long[(n + 63) >>> 6];
+            int work = candidates == null ? n : candidates.cardinality();
+            if (work < PARALLEL_THRESHOLD || pool.getParallelism() < 2) {
+                new ScanTask(rows, candidates, p, words, 0, n).scanRange();
+            } else {
+                pool.invoke(new ScanTask(rows, candidates, p, words, 0, n));
+            }
+            return BitSet.valueOf(words);
+        }
+
+        private static final class ScanTask extends RecursiveAction {
+            private final List<Vinyl.Song> rows;
+            private final BitSet candidates;
+            private final Predicate<Vinyl.Song> p;
+            private final long[] words;
+            private final int from, to;
+
+            ScanTask(List<Vinyl.Song> rows, BitSet candidates, Predicate<Vinyl.Song> p, long[] words, int from, int to) {
+                this.rows = rows; this.candidates = candidates; this.p = p; this.words = words;
+                this.from = from; this.to = to;
+            }
+
+            @Override protected void compute() {
+                if (to - from <= CHUNK) {
+                    scanRange();
+                    return;
+                }
+                // split on a 64-row boundary so no two tasks share a word
+                int mid = ((from + (to - from) / 2) + 63) & ~63;
+                invokeAll(new ScanTask(rows, candidates, p, words, from, mid),
+                          new ScanTask(rows, candidates, p, words, mid, to));
+            }
+
+            void scanRange() {
+                if (candidates == null) {
+                    for (int i = from; i < to; i++) {
+                        if (p.test(rows.get(i))) words[i >>> 6] |= 1L << i;
+                    }
+                } else {
+                    for (int i = candidates.nextSetBit(from); i >= 0 && i < to; i = candidates.nextSetBit(i + 1)) {
+                        if (p.test(rows.get(i))) words[i >>> 6] |= 1L << i;
+                    }
+                }
+            }
+        }
+    }
+
+    // ---------- Autocomplete ----------
+    // Typeahead over titles, artists, albums and genres. Kept in step with the model through
+    // its SongListener, so suggestions never scan the catalog.
+    public static final class Suggester implements Vinyl.SongTableModel.SongListener {
+        public enum Field { TITLE, ARTIST, ALBUM, GENRE }
+
+        private final Map<Field, PrefixTrie> byField = new EnumMap<>(Field.class);
+        private final PrefixTrie all = new PrefixTrie();
+        private final Map<Vinyl.Song, String[]> indexed = new IdentityHashMap<>(); // terms as last indexed
+
+        public Suggester(Vinyl.SongTableModel model) {
+            for (Field f : Field.values()) byField.put(f, new PrefixTrie());
+            songsReset(model.rows());
+            model.addSongListener(this);
+        }
+
+        // field name as used by CLI arguments ("artist=..."), or null
+        public static Field field(String name) {
+            if (name == null) return null;
+            for (Field f : Field.values()) if (f.name().equalsIgnoreCase(name.trim())) return f;
+            return null;
+        }
+
+        // Most frequent terms in any field starting with prefix (case-insensitive)
+        public List<String> suggest(String prefix, int k) { return all.suggest(prefix, k); }
+
+        public List<String> suggest(Field f, String prefix, int k) { return byField.get(f).suggest(prefix, k); }
+
+        @Override public void songAdded(Vinyl.Song s) { index(s); }
+        @Override public void songRemoved(Vinyl.Song s) { unindex(s); }
+        @Override public void songChanged(Vinyl.Song s) { unindex(s); index(s); }
+
+        @Override public void songsReset(List<Vinyl.Song> songs) {
+            indexed.clear();
+            all.clear();
+            for (PrefixTrie t : byField.values()) t.clear();
+            for (Vinyl.Song s : songs) {
+                String[] terms = terms(s);
+                indexed.put(s, terms);
+                add(terms, 1, false);
+            }
+            all.rebuildTop();
+            for (PrefixTrie t : byField.values()) t.rebuildTop();
+        }
+
+        private void index(Vinyl.Song s) {
+            String[] terms = terms(s);
+            indexed.put(s, terms);
+            add(terms, 1, true);
+        }
+
+        private void unindex(Vinyl.Song s) {
+            String[] terms = indexed.remove(s);
+            if (terms != null) add(terms, -1, true);
+        }
+
+        private void add(String[] terms, int delta, boolean updateTop) {
+            Field[] fields = Field.values();
+            for (int i = 0; i < fields.length; i++) {
+                if (terms[i].isEmpty()) continue;
+                byField.get(fields[i]).add(terms[i], delta, updateTop);
+                all.add(terms[i], delta, updateTop);
+            }
+        }
+
+        private static String[] terms(Vinyl.Song s) {
+            return new String[] { trim(s.title), trim(s.artist), trim(s.album), trim(s.genre) };
+        }
+        private static String trim(String v) { return v == null ? "" : v.trim(); }
+    }
+
+    // Case-insensitive prefix trie with term frequencies. Every node caches its TOP_K most
+    // frequent terms, so a lookup is a walk down the prefix and a copy of that cache.
+    static final class PrefixTrie {
+        static final int TOP_K = 10;
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+
+        private static final class Node {
+            char[] keys = NO_KEYS;   // sorted child characters
+            Node[] kids = NO_NODES;  // parallel to keys
+            String term;             // display form (first casing seen), null if no term ends here
+            int freq;
+            Node[] top = NO_NODES;   // most frequent terms in this subtree, best first
+
+            Node child(char c) {
+                int i = Arrays.binarySearch(keys, c);
+                return i >= 0 ? kids[i] : null;
+            }
+
+            Node childOrCreate(char c) {
+                int i = Arrays.binarySearch(keys, c);
+                if (i >= 0) return kids[i];
+                i = -i - 1;
+                char[] k = new char[keys.length + 1];
+                Node[] n = new Node[kids.length + 1];
+                System.arraycopy(keys, 0, k, 0, i);
+                System.arraycopy(kids, 0, n, 0, i);
+                k[i] = c;
+                n[i] = new Node();
+                System.arraycopy(keys, i, k, i + 1, keys.length - i);
+                System.arraycopy(kids, i, n, i + 1, kids.length - i);
+                keys = k;
+                kids = n;
+                return n[i];
+            }
+        }
+
+        private Node root = new Node();
+
+        void clear() { root = new Node(); }
+
+        void add(String term, int delta, boolean updateTop) {
+            String key = term.toLowerCase();
+            Node[] path = new Node[key.length() + 1];
+            Node n = root;
+            path[0] = n;
+            for (int i = 0; i < key.length(); i++) {
+                n = delta > 0 ? n.childOrCreate(key.charAt(i)) : n.child(key.charAt(i));
+                if (n == null) return; // removing a term that was never added
+                path[i + 1] = n;
+            }
+            if (n.term == null || n.freq <= 0) n.term = term;
+            n.freq = Math.max(0, n.freq + delta);
+            if (updateTop) {
+                for (int i = path.length - 1; i >= 0; i--) computeTop(path[i]);
+            }
+        }
+
+        // Recompute every node's cache bottom-up, after a bulk load
+        void rebuildTop() { rebuild(root); }
+
+        private void rebuild(Node n) {
+            for (Node kid : n.kids) rebuild(kid);
+            computeTop(n);
+        }
+
+        private static void computeTop(Node n) {
+            List<Node> cand = new ArrayList<>();
+            if (n.term != null && n.freq > 0) cand.add(n);
+            for (Node kid : n.kids) cand.addAll(Arrays.asList(kid.top));
+            cand.sort((a, b) -> a.freq != b.freq ? Integer.compare(b.freq, a.freq) : a.term.compareToIgnoreCase(b.term));
+            n.top = cand.size() <= TOP_K ? cand.toArray(NO_NODES) : cand.subList(0, TOP_K).toArray(NO_NODES);
+        }
+
+        List<String> suggest(String prefix, int k) {
+            List<String> out = new ArrayList<>();
+            if (prefix == null) return out;
+            String key = prefix.trim().toLowerCase();
+            if (key.isEmpty()) return out;
+            Node n = root;
+            for (int i = 0; i < key.length() && n != null; i++) n = n.child(key.charAt(i));
+            if (n == null) return out;
+            for (Node t : n.top) {
+                if (out.size() >= k) break;
+                out.add(t.term);
+            }
+            return out;
+        }
+    }
+
+    // ---------- Similar songs ----------
+    // k-nearest-neighbour lookup over bpm and length, served from a 2-d tree, with flat
+    // penalties for a different genre or artist. The penalties are never negative, so the
+    // bpm/length distance to a splitting plane is a safe lower bound for pruning.
+    // The tree is rebuilt lazily the first time it is queried after the model changes.
+    public static final class SimilarIndex {
+        static final double BPM_UNIT = 10.0;         // 10 bpm apart counts as 1
+        static final double LENGTH_UNIT = 30.0;      // 30 seconds apart counts as 1
+        static final double GENRE_PENALTY = 1.5;
+        static final double ARTIST_PENALTY = 0.5;
+
+        private final Vinyl.SongTableModel model;
+        private long version = -1;
+        private Vinyl.Song[] nodes = new Vinyl.Song[0]; // implicit tree: median of [lo,hi) at mid
+        private double[] xs = new double[0], ys = new double[0];
+
+        public SimilarIndex(Vinyl.SongTableModel model) {
+            this.model = model;
+        }
+
+        // Weighted distance between two songs (0 = identical for our purposes)
+        public static double distance(Vinyl.Song a, Vinyl.Song b) {
+            double dx = (a.bpm - b.bpm) / BPM_UNIT;
+            double dy = (a.lengthSeconds - b.lengthSeconds) / LENGTH_UNIT;
+            return Math.sqrt(dx * dx + dy * dy) + penalty(a, b);
+        }
+
+        private static double penalty(Vinyl.Song a, Vinyl.Song b) {
+            double p = 0;
+            if (!a.genre.trim().equalsIgnoreCase(b.genre.trim())) p += GENRE_PENALTY;
+            if (!a.artist.trim().equalsIgnoreCase(b.artist.trim())) p += ARTIST_PENALTY;
+            return p;
+        }
+
+        // The k songs closest to s (s itself excluded), nearest first
+        public List<Vinyl.Song> nearest(Vinyl.Song s, int k) {
+            ensureBuilt();
+            List<Vinyl.Song> out = new ArrayList<>();
+            if (k <= 0 || nodes.length == 0) return out;
+            // max-heap on distance holding the best k found so far
+            PriorityQueue<Hit> best = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(b.dist, a.dist));
+            search(s, k, best, 0, nodes.length, 0, s.bpm / BPM_UNIT, s.lengthSeconds / LENGTH_UNIT);
+            while (!best.isEmpty()) out.add(0, best.poll().song);
+            return out;
+        }
+
+        private record Hit(Vinyl.Song song, double dist) {}
+
+        private void search(Vinyl.Song q, int k, PriorityQueue<Hit> best, int lo, int hi, int depth, double qx, double qy) {
+            if (lo >= hi) return;
+            int mid = (lo + hi) >>> 1;
+            Vinyl.Song n = nodes[mid];
+            if (n != q) {
+                double dx = xs[mid] - qx, dy = ys[mid] - qy;
+                double d = Math.sqrt(dx * dx + dy * dy) + penalty(q, n);
+                if (best.size() < k) {
+                    best.add(new Hit(n, d));
+                } else if (d < best.peek().dist) {
+                    best.poll();
+                    best.add(new Hit(n, d));
+                }
+            }
+            double diff = (depth & 1) == 0 ? qx - xs[mid] : qy - ys[mid];
+            int nearLo = diff < 0 ? lo : mid + 1, nearHi = diff < 0 ? mid : hi;
+            int farLo = diff < 0 ? mid + 1 : lo, farHi = diff < 0 ? hi : mid;
+            search(q, k, best, nearLo, nearHi, depth + 1, qx, qy);
+            if (best.size() < k || Math.abs(diff) < best.peek().dist) {
+                search(q, k, best, farLo, farHi, depth + 1, qx, qy);
+            }
+        }
+
+        private void ensureBuilt() {
+            if (version == model.getVersion()) return;
+            nodes = model.rows().toArray(new Vinyl.Song[0]);
+            xs = new double[nodes.length];
+            ys = new double[nodes.length];
+            build(0, nodes.length, 0);
+            for (int i = 0; i < nodes.length; i++) {
+                xs[i] = nodes[i].bpm / BPM_UNIT;
+                ys[i] = nodes[i].lengthSeconds / LENGTH_UNIT;
+            }
+            version = model.getVersion();
+        }
+
+        // Sort each range on the alternating axis so its median sits at the middle
+        private void build(int lo, int hi, int depth) {
+            if (hi - lo <= 1) return;
+            Comparator<Vinyl.Song> axis = (depth & 1) == 0
+                    ? Comparator.comparingInt(s -> s.bpm)
+                    : Comparator.comparingInt(s -> s.lengthSeconds);
+            Arrays.sort(nodes, lo, hi, axis);
+            int mid = (lo + hi) >>> 1;
+            build(lo, mid, depth + 1);
+            build(mid + 1, hi, depth + 1);
+        }
+    }
+}
@@ -1,16 +1,26 @@
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.TableColumnModelEvent;
 import javax.swing.plaf.basic.BasicMenuItemUI;
 import javax.swing.plaf.basic.BasicScrollBarUI;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.image.BufferedImage;
 import java.net.URL;
 import javax.swing.border.Border;
 import javax.swing.plaf.basic.BasicCheckBoxMenuItemUI;
+import java.awt.geom.Area;
 import java.awt.geom.RoundRectangle2D;
 import javax.swing.plaf.basic.BasicPopupMenuUI;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import javax.swing.Popup;
 import javax.swing.PopupFactory;
 
@@ -260,7 +270,110 @@ public final class VinylUiKit {
         }
     }
 
+    // ---------- Typeahead suggestions for a text field ----------
+    // Shows a small list under the field while typing; Up/Down to move, Enter or click to accept.
+    public static final class SuggestionPopup {
+        private final JTextField field;
+        private final Function<String, List<String>> source;
+        private final JPopupMenu popup = new JPopupMenu();
+        private final DefaultListModel<String> items = new DefaultListModel<>();
+        private final JList<String> list = new JList<>(items);
+        // value just set by accept(): the document updates are handled later on the EDT, so a
+        // flag reset in accept() would be gone by then; the text itself is what they check
+        private String accepted;
+
+        private SuggestionPopup(JTextField field, Function<String, List<String>> source) {
+            this.field = field;
+            this.source = source;
+
+            list.setFocusable(false);
+            list.setBackground(PANEL);
+            list.setForeground(FG);
+            list.setSelectionBackground(new Color(60, 60, 60));
+            list.setSelectionForeground(FG);
+            list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            list.setCellRenderer(new DefaultListCellRenderer() {
+                private final Border pad = new EmptyBorder(6, 12, 6, 12);
+                @Override public Component getListCellRendererComponent(JList<?> l, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                    super.getListCellRendererComponent(l, value, index, isSelected, false);
+                    setBorder(pad);
+                    return this;
+                }
+            });
+            list.addMouseListener(new MouseAdapter() {
+                @Override public void mouseClicked(MouseEvent e) {
+                    int i = list.locationToIndex(e.getPoint());
+                    if (i >= 0) accept(items.get(i));
+                }
+            });
+
+            popup.setFocusable(false);
+            popup.setBorder(BorderFactory.createEmptyBorder());
+            popup.setBackground(PANEL);
+            popup.add(list);
+
+            field.getDocument().addDocumentListener(new DocumentListener() {
+                public void insertUpdate(DocumentEvent e) { SwingUtilities.invokeLater(SuggestionPopup.this::update); }
+                public void removeUpdate(DocumentEvent e) { SwingUtilities.invokeLater(SuggestionPopup.this::update); }
+                public void changedUpdate(DocumentEvent e) { }
+            });
+            field.addFocusListener(new FocusAdapter() {
+                @Override public void focusLost(FocusEvent e) { popup.setVisible(false); }
+            });
+            field.addKeyListener(new KeyAdapter() {
+                @Override public void keyPressed(KeyEvent e) {
+                    if (!popup.isVisible()) return;
+                    int n = items.size();
+                    switch (e.getKeyCode()) {
+                        case KeyEvent.VK_DOWN -> { list.setSelectedIndex((list.getSelectedIndex() + 1) % n); e.consume(); }
+                        case KeyEvent.VK_UP -> { list.setSelectedIndex((list.getSelectedIndex() - 1 + n) % n); e.consume(); }
+                        case KeyEvent.VK_ENTER -> {
+                            if (list.getSelectedIndex() >= 0) { accept(list.getSelectedValue()); e.consume(); }
+                        }
+                        case KeyEvent.VK_ESCAPE -> { popup.setVisible(false); e.consume(); }
+                        default -> { }
+                    }
+                }
+            });
+        }
+
+        public static SuggestionPopup attach(JTextField field, Function<String, List<String>> source) {
+            return new SuggestionPopup(field, source);
+        }
+
+        private void update() {
+            String text = field.getText();
+            if (text.equals(accepted) || !field.isFocusOwner()) return;
+            accepted = null;
+            List<String> found = source.apply(text);
+            if (found.isEmpty() || (found.size() == 1 && found.get(0).equalsIgnoreCase(text.trim()))) {
+                popup.setVisible(false);
+                return;
+            }
+            items.clear();
+            for (String f : found) items.addElement(f);
+            list.clearSelection();
+            list.setVisibleRowCount(found.size());
+            popup.setPopupSize(Math.max(field.getWidth(), list.getPreferredSize().width), list.getPreferredSize().height);
+            if (popup.isVisible()) {
+                popup.pack();
+            } else {
+                popup.show(field, 0, field.getHeight());
+            }
+        }
+
+        private void accept(String value) {
+            popup.setVisible(false);
+            accepted = value;
+            field.setText(value);
+        }
+    }
+
     public static final class ColumnBandTable extends JTable {
+        private static final Color BAND_EVEN = new Color(30, 30, 30);
+        private static final Color BAND_HOVER = new Color(45, 45, 45, 225);
+        private int bandWidth = -1; // total column width; reset on column model events
+
         public ColumnBandTable(TableModel model) {
             super(model);
             setOpaque(false);
@@ -269,36 +382,232 @@ public final class VinylUiKit {
             setRowHeight(40);
         }
 
+        // JTable listens to its own column model; drop the cached width on any change
+        @Override public void columnAdded(TableColumnModelEvent e) { bandWidth = -1; super.columnAdded(e); }
+        @Override public void columnRemoved(TableColumnModelEvent e) { bandWidth = -1; super.columnRemoved(e); }
+        @Override public void columnMoved(TableColumnModelEvent e) { bandWidth = -1; super.columnMoved(e); }
+        @Override public void columnMarginChanged(ChangeEvent e) { bandWidth = -1; super.columnMarginChanged(e); }
+        @Override public void setColumnModel(TableColumnModel m) { bandWidth = -1; super.setColumnModel(m); }
+
+        private int bandWidth() {
+            if (bandWidth < 0) {
+                TableColumnModel tcm = getColumnModel();
+                int w = 0;
+                for (int col = 0; col < tcm.getColumnCount(); col++) w += tcm.getColumn(col).getWidth();
+                bandWidth = w;
+            }
+            return bandWidth;
+        }
+
         @Override
         protected void paintComponent(Graphics g) {
-            Graphics2D g2 = (Graphics2D) g.create();
-            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            int bandInsetX = 6;
-            int bandRadius = 16;
-            TableColumnModel tcm = getColumnModel();
             int rowCount = getRowCount();
+            Rectangle clip = g.getClipBounds();
+            // opaque (fast-scroll) mode: the table owns every pixel, so fill first and let the
+            // UI paint cells without its own background pass, which would wipe the bands
+            boolean opaque = isOpaque();
+            if (opaque) {
+                g.setColor(getBackground());
+                if (clip != null) g.fillRect(clip.x, clip.y, clip.width, clip.height);
+                else g.fillRect(0, 0, getWidth(), getHeight());
+            }
+            // only the rows the clip touches, so cost follows the viewport, not the catalog
+            int first = 0, last = rowCount - 1;
+            if (clip != null && rowCount > 0) {
+                first = rowAtPoint(new Point(0, Math.max(0, clip.y)));
+                int end = rowAtPoint(new Point(0, clip.y + clip.height - 1));
+                if (end >= 0) last = end;
+            }
+            if (first >= 0 && first <= last) {
+                Graphics2D g2 = (Graphics2D) g.create();
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                int bandInsetX = 6;
+                int bandRadius = 16;
+                int totalWidth = bandWidth();
+
+                Object hr = getClientProperty("hoverRow");
+                int hoverRow = (hr instanceof Integer) ? (Integer) hr : -1;
+
+                for (int row = first; row <= last; row++) {
+                    int y = getCellRect(row, 0, true).y;
+                    int h = getRowHeight(row);
+                    g2.setColor(row % 2 == 0 ? BAND_EVEN : BG);
+                    g2.fillRoundRect(bandInsetX, y + 1, totalWidth - bandInsetX, h - 2, bandRadius, bandRadius);
 
-            Object hr = getClientProperty("hoverRow");
-            int hoverRow = (hr instanceof Integer) ? (Integer) hr : -1;
+                    if (row == hoverRow) {
+                        g2.setColor(BAND_HOVER);
+                        g2.fillRoundRect(bandInsetX, y + 1, totalWidth - bandInsetX, h - 2, bandRadius, bandRadius);
+                    }
+                }
+                g2.dispose();
+            }
 
-            for (int row = 0; row < rowCount; row++) {
-                int y = getCellRect(row, 0, true).y;
-                int h = getRowHeight(row);
-                int totalWidth = 0;
-                for (int col = 0; col < tcm.getColumnCount(); col++) {
-                    totalWidth += tcm.getColumn(col).getWidth();
+            if (opaque && ui != null) {
+                Graphics scratch = g.create();
+                try {
+                    ui.paint(scratch, this);
+                } finally {
+                    scratch.dispose();
                 }
-                g2.setColor(row % 2 == 0 ? new Color(30,30,30) : BG);
-                g2.fillRoundRect(bandInsetX, y + 1, totalWidth - bandInsetX, h - 2, bandRadius, bandRadius);
+            } else {
+                super.paintComponent(g);
+            }
+        }
+    }
 
-                if (row == hoverRow) {
-                    g2.setColor(new Color(45, 45, 45, 225));
-                    g2.fillRoundRect(bandInsetX, y + 1, totalWidth - bandInsetX, h - 2, bandRadius, bandRadius);
+    // ---------- Cover grid ----------
+    // Album-style view of the same rows as the table: a single Scrollable component that lays
+    // tiles out arithmetically and paints only those intersecting the clip, so no per-tile
+    // components exist and cost follows the viewport, not the catalog. Covers come from the
+    // shared cache and loader; after scrolling settles, queued loads for tiles that left the
+    // screen are dropped.
+    public static final class CoverGrid extends JComponent implements Scrollable {
+        // What the grid shows, in view order (usually the table's filtered, sorted rows)
+        public interface Source {
+            int size();
+            Vinyl.Song songAt(int index);
+        }
+
+        public static final int COVER = 140;
+        private static final int PAD = 10, CAPTION = 38, GAP = 12;
+        private static final int TILE_W = COVER + 2 * PAD, TILE_H = COVER + PAD + CAPTION;
+        private static final Color TILE_BG = new Color(30, 30, 30);
+
+        private final Source source;
+        private final Timer settle;
+        private java.util.function.IntConsumer onOpen = i -> {};
+
+        public CoverGrid(Source source) {
+            this.source = source;
+            setOpaque(true);
+            setBackground(BG);
+            settle = new Timer(50, e -> dropOffscreenLoads());
+            settle.setRepeats(false);
+            addMouseListener(new MouseAdapter() {
+                @Override public void mouseClicked(MouseEvent e) {
+                    int i = indexAt(e.getPoint());
+                    if (e.getClickCount() == 2 && i >= 0) onOpen.accept(i);
                 }
+            });
+        }
+
+        // Double-click on a tile
+        public void setOnOpen(java.util.function.IntConsumer onOpen) { this.onOpen = onOpen; }
+
+        // Rows changed (filter, sort, edits): re-layout and repaint
+        public void refresh() {
+            revalidate();
+            repaint();
+        }
+
+        private int columns() { return Math.max(1, (viewWidth() - GAP) / (TILE_W + GAP)); }
+
+        private int viewWidth() {
+            return getParent() instanceof JViewport vp ? vp.getWidth() : getWidth();
+        }
+
+        private Rectangle tileRect(int i) {
+            int cols = columns();
+            // centre the block of columns in the available width
+            int left = Math.max(GAP, (viewWidth() - cols * (TILE_W + GAP) + GAP) / 2);
+            return new Rectangle(left + (i % cols) * (TILE_W + GAP), GAP + (i / cols) * (TILE_H + GAP), TILE_W, TILE_H);
+        }
+
+        private int indexAt(Point p) {
+            for (int i = firstIndex(p.y, p.y); i >= 0 && i <= lastIndex(p.y, p.y); i++) {
+                if (tileRect(i).contains(p)) return i;
+            }
+            return -1;
+        }
+
+        private int firstIndex(int top, int bottom) {
+            int row = Math.max(0, (top - GAP) / (TILE_H + GAP));
+            int i = row * columns();
+            return i < source.size() ? i : -1;
+        }
+
+        private int lastIndex(int top, int bottom) {
+            int row = Math.max(0, (bottom - GAP) / (TILE_H + GAP));
+            return Math.min(source.size() - 1, (row + 1) * columns() - 1);
+        }
+
+        @Override public Dimension getPreferredSize() {
+            int rows = (source.size() + columns() - 1) / columns();
+            return new Dimension(TILE_W + 2 * GAP, GAP + rows * (TILE_H + GAP));
+        }
+
+        @Override protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+            int first = firstIndex(clip.y, clip.y + clip.height);
+            if (first < 0) return;
+            int last = lastIndex(clip.y, clip.y + clip.height);
+
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setFont(getFont());
+            FontMetrics fm = g2.getFontMetrics();
+            for (int i = first; i <= last; i++) {
+                Vinyl.Song s = source.songAt(i);
+                if (s == null) continue;
+                Rectangle r = tileRect(i);
+                g2.setColor(TILE_BG);
+                g2.fillRoundRect(r.x, r.y, r.width, r.height, 16, 16);
+                cover(s).paintIcon(this, g2, r.x + PAD, r.y + PAD);
+                int textY = r.y + PAD + COVER + fm.getAscent() + 2;
+                g2.setColor(FG);
+                g2.drawString(clipText(s.title, fm, COVER), r.x + PAD, textY);
+                g2.setColor(SUBFG);
+                g2.drawString(clipText(s.artist, fm, COVER), r.x + PAD, textY + fm.getHeight());
             }
             g2.dispose();
+            settle.restart();
+        }
 
-            super.paintComponent(g);
+        // Cached cover, or the placeholder while the shared loader fetches it (the grid is the
+        // owner, so repeated paints queue one load per cover)
+        private Icon cover(Vinyl.Song s) {
+            if (s.coverPath == null || s.coverPath.isEmpty()) return VinylCovers.placeholder(COVER);
+            ImageIcon icon = VinylCovers.cached(s.coverPath, COVER);
+            if (icon != null) return icon;
+            VinylCovers.loader().request(s.coverPath, COVER, this, loaded -> { if (loaded != null) repaint(); });
+            return VinylCovers.placeholder(COVER);
+        }
+
+        private static String clipText(String text, FontMetrics fm, int width) {
+            if (text == null) return "";
+            if (fm.stringWidth(text) <= width) return text;
+            int end = text.length();
+            while (end > 0 && fm.stringWidth(text.substring(0, end)) + fm.stringWidth("\u2026") > width) end--;
+            return text.substring(0, end) + "\u2026";
+        }
+
+        // Cancel queued grid loads for covers no longer on screen
+        private void dropOffscreenLoads() {
+            Rectangle vis = getVisibleRect();
+            java.util.Set<String> onScreen = new java.util.HashSet<>();
+            int first = firstIndex(vis.y, vis.y + vis.height);
+            if (first >= 0) {
+                for (int i = first, last = lastIndex(vis.y, vis.y + vis.height); i <= last; i++) {
+                    Vinyl.Song s = source.songAt(i);
+                    if (s != null && s.coverPath != null) onScreen.add(s.coverPath);
+                }
+            }
+            VinylCovers.loader().reprioritize((owner, path) ->
+                    owner != this ? VinylCovers.Loader.KEEP : onScreen.contains(path) ? 0 : -1);
+        }
+
+        @Override public Dimension getPreferredScrollableViewportSize() { return getPreferredSize(); }
+        @Override public int getScrollableUnitIncrement(Rectangle visible, int orientation, int direction) { return (TILE_H + GAP) / 4; }
+        @Override public int getScrollableBlockIncrement(Rectangle visible, int orientation, int direction) {
+            return Math.max(TILE_H + GAP, visible.height - (TILE_H + GAP));
+        }
+        @Override public boolean getScrollableTracksViewportWidth() { return true; }
+        @Override public boolean getScrollableTracksViewportHeight() {
+            return getParent() instanceof JViewport vp && vp.getHeight() > getPreferredSize().height;
         }
     }
 
@@ -394,14 +703,35 @@ public final class VinylUiKit {
     }
 
     // ---------- Transparent text cell ----------
-    public static final class TextCellRenderer extends DefaultTableCellRenderer {
+    // Renderers below are flyweights: one component per column, reconfigured per cell,
+    // with borders and fonts created once, so painting a screen of rows allocates nothing.
+    static final Border CELL_PADDING = new EmptyBorder(8, 12, 8, 12);
+
+    // Base for the table renderers: in diagnostics mode each paint is timed into a histogram
+    // named after the renderer class; otherwise paint is a plain pass-through.
+    public abstract static class TimedCellRenderer extends DefaultTableCellRenderer {
+        private final VinylDiagnostics.Histogram paintTime =
+                VinylDiagnostics.ENABLED ? VinylDiagnostics.histogram(getClass().getSimpleName()) : null;
+
+        @Override public void paint(Graphics g) {
+            if (!VinylDiagnostics.ENABLED) {
+                super.paint(g);
+                return;
+            }
+            long t0 = System.nanoTime();
+            super.paint(g);
+            paintTime.record(System.nanoTime() - t0);
+        }
+    }
+
+    public static final class TextCellRenderer extends TimedCellRenderer {
         private final int align;
         public TextCellRenderer(int align) { this.align = align; setOpaque(false); }
         @Override public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
             super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
             setHorizontalAlignment(align);
             setText(value == null ? "" : value.toString());
-            setBorder(new EmptyBorder(8, 12, 8, 12));
+            setBorder(CELL_PADDING);
             setForeground(FG);
             setOpaque(false);
             return this;
@@ -409,78 +739,89 @@ public final class VinylUiKit {
     }
 
     // ---------- Cover, Explicit, Rating ----------
-    public static final class CoverRenderer extends DefaultTableCellRenderer {
+    public static final class CoverRenderer extends TimedCellRenderer {
+        private static final Border COVER_PADDING = new EmptyBorder(6, 0, 6, 0);
+        public CoverRenderer() {
+            setOpaque(false);
+            setHorizontalAlignment(SwingConstants.CENTER);
+            setBorder(COVER_PADDING);
+        }
         @Override public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-            JPanel p = new JPanel(new GridBagLayout()); p.setOpaque(false);
-            JLabel l = new JLabel(); l.setOpaque(false); l.setHorizontalAlignment(SwingConstants.CENTER); l.setBorder(new EmptyBorder(6, 0, 6, 0));
-            if (value instanceof ImageIcon) l.setIcon((ImageIcon) value);
-            p.add(l); return p;
+            setIcon(value instanceof Icon ? (Icon) value : null);
+            return this;
         }
     }
 
     // render the RED E for the Explicit
-    public static final class ExplicitRenderer extends DefaultTableCellRenderer {
+    public static final class ExplicitRenderer extends TimedCellRenderer {
+        private boolean explicit;
+        public ExplicitRenderer() {
+            setOpaque(false);
+            setFont(getFont().deriveFont(Font.PLAIN, 16f));
+        }
         @Override public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-            boolean exp = value instanceof Boolean && (Boolean) value;
-            JPanel p = new JPanel(new GridBagLayout());
-            p.setOpaque(false);
-            if (exp) {
-                JLabel pill = new JLabel("E");
-                pill.setOpaque(false);
-                pill.setFont(pill.getFont().deriveFont(Font.PLAIN, 16f));
-                pill.setForeground(new Color(180, 30, 30));
-
-                p.add(pill);
-            }
-            return p;
+            explicit = value instanceof Boolean && (Boolean) value;
+            return this;
+        }
+        @Override protected void paintComponent(Graphics g) {
+            if (!explicit) return;
+            Glyphs.Sprite badge = Glyphs.explicitBadge(getFont(), Glyphs.scaleOf(g));
+            badge.paint(g, (getWidth() - badge.width()) / 2, (getHeight() - badge.height()) / 2);
         }
     }
 
     // ---------- Explicit, Rating ----------
-    public static final class RatingRenderer extends DefaultTableCellRenderer {
+    // Blits the pre-rendered strip for the cell's rating
+    public static final class RatingRenderer extends TimedCellRenderer {
+        private final Font starFont = FontManager.starFont(18f);
+        private int rating;
+
+        public RatingRenderer() { setOpaque(false); }
+
         @Override public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
-            int rating = value instanceof Integer ? (Integer) value : 0;
-            JPanel p = new JPanel(new FlowLayout(FlowLayout.CENTER, 2, 15));
-            p.setOpaque(false);
-            for (int i = 1; i <= 5; i++) {
-                JLabel star = new JLabel(i <= rating ? "★" : "☆");
-                // Use Wingdine-based star font
-                star.setFont(FontManager.starFont(18f));
-                // All stars red
-                star.setForeground(RED);
-                p.add(star);
-            }
-            return p;
+            rating = value instanceof Integer ? (Integer) value : 0;
+            return this;
+        }
+
+        @Override protected void paintComponent(Graphics g) {
+            Glyphs.Sprite strip = Glyphs.ratingStrip(rating, starFont, Glyphs.scaleOf(g));
+            strip.paint(g, (getWidth() - strip.width()) / 2, Glyphs.STAR_TOP);
         }
     }
 
     // ---------- Explicit, Rating ----------
+    // Same strips as the renderer; a click picks the star under the pointer
     public static final class RatingEditor extends AbstractCellEditor implements TableCellEditor {
+        private final Font starFont = FontManager.starFont(18f);
         private int rating;
-        private JPanel panel;
+        private final JComponent panel = new JComponent() {
+            @Override protected void paintComponent(Graphics g) {
+                Glyphs.Sprite strip = Glyphs.ratingStrip(rating, starFont, Glyphs.scaleOf(g));
+                strip.paint(g, stripX(strip), Glyphs.STAR_TOP);
+            }
+        };
 
-        @Override
-        public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
-            rating = value instanceof Integer ? (Integer) value : 0;
-            panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 2, 15));
+        public RatingEditor() {
             panel.setOpaque(false);
-            for (int i = 1; i <= 5; i++) {
-                final int idx = i;
-                JLabel star = new JLabel(i <= rating ? "★" : "☆");
-                // Use Wingdine-based star font
-                star.setFont(FontManager.starFont(18f));
-                // All stars red
-                star.setForeground(RED);
-                star.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-                star.addMouseListener(new MouseAdapter() {
-                    @Override
-                    public void mouseClicked(MouseEvent e) {
-                        rating = idx;
+            panel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+            panel.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    Glyphs.Sprite strip = Glyphs.ratingStrip(rating, starFont, 1);
+                    int star = Glyphs.starAt(rating, starFont, e.getX() - stripX(strip));
+                    if (star > 0) {
+                        rating = star;
                         stopCellEditing();
                     }
-                });
-                panel.add(star);
-            }
+                }
+            });
+        }
+
+        private int stripX(Glyphs.Sprite strip) { return (panel.getWidth() - strip.width()) / 2; }
+
+        @Override
+        public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
+            rating = value instanceof Integer ? (Integer) value : 0;
             return panel;
         }
 
@@ -490,6 +831,84 @@ public final class VinylUiKit {
         }
     }
 
+    // ---------- Pre-rendered glyphs ----------
+    // The six rating strips (0-5 stars) and the explicit "E" badge, drawn once per font and
+    // display scale into compatible images, so cells blit an image instead of laying out text.
+    public static final class Glyphs {
+        private Glyphs() {}
+
+        static final int STAR_GAP = 2, STAR_TOP = 15; // the old FlowLayout(CENTER, 2, 15)
+        private static final Color BADGE = new Color(180, 30, 30);
+        private static final String FULL = "★", EMPTY = "☆";
+
+        // An image rendered at `scale` device pixels per logical pixel, painted at logical size
+        public record Sprite(BufferedImage image, int width, int height) {
+            public void paint(Graphics g, int x, int y) {
+                g.drawImage(image, x, y, width, height, null);
+            }
+        }
+
+        private record Key(String glyph, Font font, double scale) {}
+        private static final Map<Key, Sprite> CACHE = new ConcurrentHashMap<>();
+
+        static double scaleOf(Graphics g) {
+            return g instanceof Graphics2D g2 ? g2.getTransform().getScaleX() : 1;
+        }
+
+        public static Sprite ratingStrip(int rating, Font font, double scale) {
+            int r = Math.max(0, Math.min(5, rating));
+            return CACHE.computeIfAbsent(new Key("stars" + r, font, scale), k -> render(font, scale, RED, strip(r)));
+        }
+
+        public static Sprite explicitBadge(Font font, double scale) {
+            return CACHE.computeIfAbsent(new Key("E", font, scale), k -> render(font, scale, BADGE, new String[]{"E"}));
+        }
+
+        // 1-based star under x (relative to the strip's left edge), or 0
+        static int starAt(int rating, Font font, int x) {
+            FontMetrics fm = metrics(font);
+            String[] stars = strip(rating);
+            int left = 0;
+            for (int i = 0; i < stars.length; i++) {
+                int right = left + fm.stringWidth(stars[i]) + STAR_GAP;
+                if (x >= left - STAR_GAP && x < right) return i + 1;
+                left = right;
+            }
+            return 0;
+        }
+
+        private static String[] strip(int rating) {
+            String[] stars = new String[5];
+            for (int i = 0; i < 5; i++) stars[i] = i < rating ? FULL : EMPTY;
+            return stars;
+        }
+
+        private static FontMetrics metrics(Font font) {
+            return new Canvas().getFontMetrics(font);
+        }
+
+        private static Sprite render(Font font, double scale, Color color, String[] glyphs) {
+            FontMetrics fm = metrics(font);
+            int w = (glyphs.length - 1) * STAR_GAP;
+            for (String s : glyphs) w += fm.stringWidth(s);
+            int h = fm.getHeight();
+            BufferedImage img = VinylCovers.compatibleImage(
+                    Math.max(1, (int) Math.ceil(w * scale)), Math.max(1, (int) Math.ceil(h * scale)));
+            Graphics2D g2 = img.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.scale(scale, scale);
+            g2.setFont(font);
+            g2.setColor(color);
+            int x = 0;
+            for (String s : glyphs) {
+                g2.drawString(s, x, fm.getAscent());
+                x += fm.stringWidth(s) + STAR_GAP;
+            }
+            g2.dispose();
+            return new Sprite(img, w, h);
+        }
+    }
+
     // ---------- Buttons ----------
     public static JButton redButton(String text) { return new RoundedButton(text, RED, RED_HOVER, 18); }
     public static JButton grayButton(String text) { return new RoundedButton(text, new Color(70,70,70), new Color(88,88,88), 18); }
@@ -504,6 +923,8 @@ public final class VinylUiKit {
         private final int radius;
         private final Color bg;
         private final Color borderColor;
+        private Color cornerMask;   // non-null in fast-scroll mode
+        private Point lastViewPos;
 
         public RoundedScrollPane(Component view, int radius) {
             this(view, radius, PANEL, new Color(60, 60, 60));
@@ -524,6 +945,53 @@ public final class VinylUiKit {
             setBackground(new Color(0, 0, 0, 0));
         }
 
+        // Fast-scroll mode: the viewport and its (opaque) view paint every pixel, so JViewport can
+        // blit on scroll and repaint only the exposed strip. The rounded corners then can't come
+        // from transparency; they are masked in the given outside colour over the children. Blits
+        // drag the masks along with the content, so after each scroll the corners and the spots
+        // the old masks were copied to are repainted from here.
+        public void setFastScroll(Color outside) {
+            cornerMask = outside;
+            JViewport vp = getViewport();
+            vp.setOpaque(true);
+            vp.setBackground(vp.getView() != null ? vp.getView().getBackground() : outside);
+            vp.setScrollMode(JViewport.BLIT_SCROLL_MODE);
+            lastViewPos = vp.getViewPosition();
+            vp.addChangeListener(e -> repaintCorners());
+        }
+
+        private void repaintCorners() {
+            Point p = getViewport().getViewPosition();
+            int dx = lastViewPos.x - p.x, dy = lastViewPos.y - p.y;
+            lastViewPos = p;
+            int w = getWidth(), h = getHeight();
+            for (Rectangle c : new Rectangle[]{
+                    new Rectangle(0, 0, radius, radius), new Rectangle(w - radius, 0, radius, radius),
+                    new Rectangle(0, h - radius, radius, radius), new Rectangle(w - radius, h - radius, radius, radius)}) {
+                repaint(c);
+                if (dx != 0 || dy != 0) repaint(c.x + dx, c.y + dy, c.width, c.height);
+            }
+        }
+
+        // child repaints (cell updates, hover) are routed through here so the masks stay on top
+        @Override
+        protected boolean isPaintingOrigin() {
+            return cornerMask != null;
+        }
+
+        @Override
+        protected void paintChildren(Graphics g) {
+            super.paintChildren(g);
+            if (cornerMask == null) return;
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            Area outside = new Area(new Rectangle(0, 0, getWidth(), getHeight()));
+            outside.subtract(new Area(new RoundRectangle2D.Float(0, 0, getWidth(), getHeight(), radius * 2, radius * 2)));
+            g2.setColor(cornerMask);
+            g2.fill(outside);
+            g2.dispose();
+        }
+
         @Override
         protected void paintComponent(Graphics g) {
             // Make the scroll pane fully transparent: no background, no border.